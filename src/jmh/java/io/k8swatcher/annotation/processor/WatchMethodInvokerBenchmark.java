@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Watch;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Compares the reflective dispatch used before {@link WatchMethodInvoker}, a method handle and the invokers generated
+ * by the {@link java.lang.invoke.LambdaMetafactory}. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WatchMethodInvokerBenchmark {
+
+    private TargetBean bean;
+    private Pod pod;
+
+    private Method addMethod;
+    private Method deleteMethod;
+
+    private MethodHandle addHandle;
+
+    private WatchMethodInvoker addInvoker;
+    private WatchMethodInvoker deleteInvoker;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        bean = new TargetBean();
+        pod = new PodBuilder().withNewMetadata().withName("pod").endMetadata().build();
+        addMethod = TargetBean.class.getMethod("onAdd", Pod.class);
+        deleteMethod = TargetBean.class.getMethod("onDelete", Pod.class);
+        addHandle = MethodHandles.lookup()
+                .unreflect(addMethod)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        addInvoker = WatchMethodInvoker.of(addMethod);
+        deleteInvoker = WatchMethodInvoker.of(deleteMethod);
+    }
+
+    @Benchmark
+    public void reflectiveAdd(Blackhole blackhole) {
+        ReflectionUtils.invokeMethod(addMethod, bean, pod);
+        blackhole.consume(bean.last);
+    }
+
+    @Benchmark
+    public void methodHandleAdd(Blackhole blackhole) throws Throwable {
+        addHandle.invokeExact((Object) bean, (Object) pod);
+        blackhole.consume(bean.last);
+    }
+
+    @Benchmark
+    public void invokerAdd(Blackhole blackhole) {
+        addInvoker.invokeAdd(bean, pod);
+        blackhole.consume(bean.last);
+    }
+
+    @Benchmark
+    public void reflectiveDelete(Blackhole blackhole) {
+        if (deleteMethod.getParameterCount() == 1) {
+            ReflectionUtils.invokeMethod(deleteMethod, bean, pod);
+        } else {
+            ReflectionUtils.invokeMethod(deleteMethod, bean, pod, false);
+        }
+        blackhole.consume(bean.last);
+    }
+
+    @Benchmark
+    public void invokerDelete(Blackhole blackhole) {
+        deleteInvoker.invokeDelete(bean, pod, false);
+        blackhole.consume(bean.last);
+    }
+
+    public static class TargetBean {
+
+        private Pod last;
+
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {
+            last = pod;
+        }
+
+        @Watch(event = EventType.DELETE, resource = Pod.class)
+        public void onDelete(Pod pod) {
+            last = pod;
+        }
+    }
+}
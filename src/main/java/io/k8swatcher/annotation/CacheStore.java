@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+/**
+ * How an informer keeps the objects of its cache, see {@link Informer#cacheStore()}.
+ */
+public enum CacheStore {
+    /**
+     * The deserialized objects, like a plain fabric8 informer.
+     */
+    OBJECTS,
+    /**
+     * The objects serialized as JSON bytes, deserialized when they are read. A small number of recently read or
+     * written objects is kept deserialized, see {@link Informer#hotCacheSize()}.
+     */
+    SERIALIZED,
+    /**
+     * Like {@link #SERIALIZED}, with the bytes compressed.
+     */
+    COMPRESSED,
+    /**
+     * Like {@link #COMPRESSED}, with the bytes kept in direct buffers outside of the Java heap. Their size is limited
+     * by {@code -XX:MaxDirectMemorySize}. The buffers are carved from 1 MiB chunks and reused when objects change, up
+     * to a quarter of the size of an object is lost to rounding. The chunks are kept while the informer runs, so the
+     * direct memory of the cache does not shrink after its largest size.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+/**
+ * A change between the old and new object of an UPDATE, see {@link Watch#changes()}.
+ */
+public enum Change {
+    /**
+     * {@code metadata.generation} changed, which the API server only increments for changes of the spec.
+     */
+    GENERATION,
+    /**
+     * {@code metadata.labels} changed.
+     */
+    LABELS,
+    /**
+     * {@code metadata.annotations} changed.
+     */
+    ANNOTATIONS
+}
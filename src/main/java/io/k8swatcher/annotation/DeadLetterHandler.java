@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+import java.lang.reflect.Method;
+
+/**
+ * Receives the events a {@link Watch} method still failed on after {@link Informer#maxRetries()} retries in
+ * {@link DispatchMode#WORK_QUEUE} mode, and the keys a {@link Reconcile} method still failed on. Referenced by
+ * bean name in {@link Informer#deadLetterHandler()}.
+ */
+@FunctionalInterface
+public interface DeadLetterHandler {
+
+    /**
+     * @param method the {@link Watch} or {@link Reconcile} method which failed
+     * @param event the event, for batched methods {@link ResourceEvent#obj()} is the list of events, for
+     *     {@link Reconcile} methods the type is {@code null} and the object is the one of the last event of the key
+     * @param error the exception thrown by the last attempt
+     */
+    void onDeadLetter(Method method, ResourceEvent<?> event, Throwable error);
+}
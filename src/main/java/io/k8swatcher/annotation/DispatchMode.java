@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+/**
+ * Defines how the events of a watched resource are handed to the {@link Watch} methods.
+ */
+public enum DispatchMode {
+    /**
+     * On {@link Watch} the mode of the {@link Informer} is used, on {@link Informer} the configured mode or
+     * {@link #SERIAL}.
+     */
+    DEFAULT,
+    /**
+     * All events of a namespace are handled one after another. A cluster-wide watch handles the namespaces on
+     * {@code poolSize} lanes, namespaces sharing a lane wait for each other.
+     */
+    SERIAL,
+    /**
+     * Events of the same object (namespace/name) are handled one after another, events of different objects are
+     * handled concurrently on {@code poolSize} lanes.
+     */
+    KEY_ORDERED,
+    /**
+     * Like {@link #KEY_ORDERED}, but every event is handled on a virtual thread and at most {@code maxConcurrency}
+     * events run at the same time. Meant for {@link Watch} methods that block on I/O. Requires Java 21, on older
+     * versions {@link #KEY_ORDERED} is used.
+     */
+    VIRTUAL,
+    /**
+     * Like {@link #KEY_ORDERED}, but a failing {@link Watch} method is retried with a per object exponential backoff
+     * and a rate limit shared by all retries of the watched resource. Events of an object which is already queued
+     * or being handled wait for it instead of taking another worker. After {@link Informer#maxRetries()} the event
+     * is passed to the {@link Informer#deadLetterHandler()}.
+     */
+    WORK_QUEUE
+}
@@ -18,5 +18,10 @@ package io.k8swatcher.annotation;
 public enum EventType {
     ADD,
     UPDATE,
-    DELETE
+    DELETE,
+    /**
+     * A periodic resync redelivered an object whose resourceVersion did not change. These deliveries are not passed
+     * to {@link #UPDATE} methods, watch them with a method taking the object like {@link #ADD} if you need them.
+     */
+    RESYNC
 }
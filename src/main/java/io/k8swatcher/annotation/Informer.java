@@ -32,7 +32,134 @@ public @interface Informer {
 
     String[] nsLabels() default {};
 
+    /**
+     * When {@link #nsLabels()} select at least this many namespaces, a single cluster-wide watch per resource whose
+     * events are filtered by namespace replaces the watch per namespace. The cluster-wide watch needs permission to
+     * list and watch the resource in all namespaces (a ClusterRole), so it is opt-in: 0, the default, always watches
+     * every selected namespace on its own. Without {@link #nsNames()} and {@link #nsLabels()} all namespaces are
+     * watched with one cluster-wide watch.
+     */
+    int clusterWatchThreshold() default 0;
+
     String[] resLabels() default {};
 
+    /**
+     * Field selectors like {@code spec.nodeName=node-1} or {@code status.phase!=Succeeded}, evaluated by the API
+     * server so only matching resources are listed, watched and cached.
+     */
+    String[] fieldSelectors() default {};
+
     long resyncPeriod() default 1000L;
+
+    /**
+     * Caches and passes on only the apiVersion, kind and metadata of the resources, all other fields are
+     * {@code null}. {@link Watch} methods may take {@link io.fabric8.kubernetes.api.model.PartialObjectMetadata}
+     * instead of the resource.
+     */
+    boolean metadataOnly() default false;
+
+    /**
+     * How the informer keeps the cached objects. The serialized stores take a fraction of the memory of the objects
+     * but deserialize them on every read, including every resync, so use them with a long {@link #resyncPeriod()}.
+     */
+    CacheStore cacheStore() default CacheStore.OBJECTS;
+
+    /**
+     * Number of recently read or written objects a serialized {@link #cacheStore()} keeps deserialized.
+     */
+    int hotCacheSize() default 256;
+
+    /**
+     * Passes the events of a plain watch to the {@link Watch} methods instead of running an informer with a cache.
+     * Only the resourceVersion of every object is kept, and the last object if there are UPDATE methods. The watch
+     * resumes from the last resourceVersion or bookmark, when it is gone the objects are listed again. Not supported
+     * with {@link Reconcile} and RESYNC methods, which need the cache.
+     */
+    boolean streaming() default false;
+
+    /**
+     * JSON paths of the fields to cache and pass on, like {@code status.phase} or {@code spec.nodeName}. All other
+     * fields of the resources are {@code null}, apiVersion, kind, name, namespace, uid, resourceVersion and generation
+     * are always kept. A path ending at an object keeps the whole object, paths through lists apply to every element.
+     * Empty keeps all fields.
+     */
+    String[] fields() default {};
+
+    /**
+     * Removes {@code metadata.managedFields} from the resources before they are cached and passed on.
+     */
+    boolean stripManagedFields() default false;
+
+    /**
+     * Regular expressions, annotations whose key matches one of them are removed from the resources before they are
+     * cached and passed on, like {@code kubectl\.kubernetes\.io/last-applied-configuration}.
+     */
+    String[] stripAnnotations() default {};
+
+    /**
+     * Names of {@code Consumer<HasMetadata>} beans applied to the resources, in this order, before they are cached
+     * and passed on. They run after {@link #metadataOnly()}, {@link #stripManagedFields()} and
+     * {@link #stripAnnotations()} and change the resource in place, so the cache and the handlers see the same
+     * object.
+     */
+    String[] transforms() default {};
+
+    /**
+     * Number of threads running the {@link Watch} methods of one watched resource. 0 uses the number of available
+     * processors.
+     */
+    int poolSize() default 0;
+
+    /**
+     * How events are handed to the {@link Watch} methods. {@link DispatchMode#DEFAULT} means
+     * {@link DispatchMode#SERIAL}.
+     */
+    DispatchMode dispatchMode() default DispatchMode.DEFAULT;
+
+    /**
+     * Maximum number of events of one watched resource handled at the same time in {@link DispatchMode#VIRTUAL}
+     * mode. 0 uses 64.
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * Maximum number of events queued per handler before the {@link #overflowPolicy()} applies. 0 means unbounded.
+     */
+    int queueCapacity() default 0;
+
+    OverflowPolicy overflowPolicy() default OverflowPolicy.BLOCK;
+
+    /**
+     * Merges queued UPDATEs of the same object so a {@link Watch} method only sees the latest state, and discards
+     * the events of objects which are deleted before their ADD was handled.
+     */
+    boolean coalesce() default false;
+
+    /**
+     * Number of times a failing event is retried in {@link DispatchMode#WORK_QUEUE} mode before it is passed to the
+     * {@link #deadLetterHandler()}.
+     */
+    int maxRetries() default 10;
+
+    /**
+     * Delay before the first retry of an object in milliseconds, doubled with every further failure up to
+     * {@link #retryMaxDelayMs()}.
+     */
+    long retryBaseDelayMs() default 5;
+
+    long retryMaxDelayMs() default 1_000_000;
+
+    /**
+     * Maximum number of retries per second of one watched resource, with bursts of up to {@link #retryBurst()}. 0
+     * disables the limit.
+     */
+    double retryRateLimit() default 10;
+
+    int retryBurst() default 100;
+
+    /**
+     * Name of the {@link DeadLetterHandler} bean which receives the events that failed after
+     * {@link #maxRetries()} retries. Without one they are logged.
+     */
+    String deadLetterHandler() default "";
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+/**
+ * What happens to a new event when the dispatch queue of a handler is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The informer thread waits until the handler has made room. Note that the informer keeps receiving and
+     * buffering notifications from the API server in the meantime.
+     */
+    BLOCK,
+    /**
+     * The oldest queued event is discarded.
+     */
+    DROP_OLDEST,
+    /**
+     * The new event is discarded.
+     */
+    DROP_NEWEST,
+    /**
+     * The new event is merged into a queued event of the same {@link Watch} method for the same object
+     * (namespace/name), the method is called once with the latest state.
+     * If there is none the informer thread waits like {@link #BLOCK}.
+     */
+    COALESCE
+}
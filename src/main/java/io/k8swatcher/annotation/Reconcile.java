@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+import io.fabric8.kubernetes.api.model.KubernetesResource;
+import java.lang.annotation.*;
+
+/**
+ * Marks a level-triggered reconcile method of an {@link Informer} bean, as an alternative to {@link Watch} methods.
+ * Every ADD, UPDATE and DELETE of the resource enqueues the namespace/name key of the object, and the
+ * method is called with the key and the latest state from the informer cache, {@code null} if the object was
+ * deleted:
+ *
+ * <pre>
+ * &#64;Reconcile(resource = Deployment.class, maxConcurrent = 8)
+ * public void reconcile(String key, Deployment deployment)
+ * </pre>
+ *
+ * The second parameter is optional. A key is reconciled by one thread at a time, keys which change while they are
+ * queued or being reconciled are reconciled once more afterwards, no matter how many events arrived. A failing
+ * reconcile is retried like in {@link DispatchMode#WORK_QUEUE} mode.
+ * <p>
+ * The method may return a {@link java.time.Duration} to be called again for the key once it has passed, e.g. to
+ * check an expiry date, or {@code null} if it does not need to. A key has at most one pending requeue per method,
+ * the earliest one is kept.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Reconcile {
+
+    Class<? extends KubernetesResource> resource();
+
+    /**
+     * Maximum number of keys of one watched resource reconciled at the same time.
+     */
+    int maxConcurrent() default 1;
+
+    /**
+     * Whether resyncs enqueue the keys of unchanged objects, so every object is reconciled once per
+     * {@link Informer#resyncPeriod()}. Resyncs are skipped by default.
+     */
+    boolean resync() default false;
+}
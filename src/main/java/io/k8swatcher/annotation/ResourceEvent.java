@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation;
+
+/**
+ * One event in the batch of a {@link Watch} method with {@link Watch#batchSize()}, e.g.
+ * {@code void podsUpdated(List<ResourceEvent<Pod>> events)}.
+ *
+ * @param type the event type
+ * @param oldObj the previous state for {@link EventType#UPDATE}, otherwise {@code null}
+ * @param obj the added, updated or deleted object
+ * @param deletedFinalStateUnknown for {@link EventType#DELETE}, whether the final state of the object is unknown
+ */
+public record ResourceEvent<T>(EventType type, T oldObj, T obj, boolean deletedFinalStateUnknown) {}
@@ -26,4 +26,43 @@ public @interface Watch {
     EventType event();
 
     Class<? extends KubernetesResource> resource();
+
+    /**
+     * Overrides the {@link Informer#dispatchMode()} for this method.
+     */
+    DispatchMode dispatchMode() default DispatchMode.DEFAULT;
+
+    /**
+     * Maximum number of events passed to the method at once. 0 calls the method for every event. A batched method
+     * takes a single {@code List} parameter: {@code List<Pod>} for ADD and DELETE, {@code List<ResourceEvent<Pod>>}
+     * for UPDATE and DELETE.
+     */
+    int batchSize() default 0;
+
+    /**
+     * Maximum time in milliseconds the first event of a batch waits before the batch is handed to the method,
+     * even if it is not full.
+     */
+    long batchWindowMs() default 100;
+
+    /**
+     * Only for UPDATE: the method is only called if one of these changes or one of the {@link #changedPaths()}
+     * differs between the old and new object. Without both every UPDATE is passed. With {@link Informer#fields()}
+     * the labels and annotations have to be part of the fields to be compared.
+     */
+    Change[] changes() default {};
+
+    /**
+     * Only for UPDATE: dot separated paths into the object, e.g. {@code status.phase}. The method is only called if
+     * the value of one of them or one of the {@link #changes()} differs between the old and new object.
+     */
+    String[] changedPaths() default {};
+
+    /**
+     * Client-side filter evaluated before the event is queued, the method is only called for events it accepts.
+     * Either the name of a {@code java.util.function.Predicate} bean or a SpEL expression with the resource as
+     * root object, e.g. {@code metadata.annotations?.get('example.com/managed') == 'true'}. UPDATEs are filtered on
+     * the new object. Use field and label selectors for conditions the API server can evaluate.
+     */
+    String filter() default "";
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.cfg;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A field selector like {@code spec.nodeName=node-1} or {@code status.phase!=Succeeded}, evaluated by the API server.
+ */
+public record FieldSelector(String key, String value, boolean negated) {
+
+    private static final Pattern FORMAT = Pattern.compile("([A-Za-z0-9_.\\-\\[\\]]+)\\s*(!=|==|=)\\s*([^=!]*)");
+
+    /**
+     * @throws IllegalArgumentException if the selector is not of the form key=value, key==value or key!=value
+     */
+    public static FieldSelector parse(String selector) {
+        Matcher matcher = FORMAT.matcher(selector.trim());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid field selector " + selector + ". Format has to be key=value or key!=value");
+        }
+        return new FieldSelector(matcher.group(1), matcher.group(3).trim(), matcher.group(2).equals("!="));
+    }
+
+    @Override
+    public String toString() {
+        return key + (negated ? "!=" : "=") + value;
+    }
+}
@@ -15,19 +15,57 @@
  */
 package io.k8swatcher.annotation.cfg;
 
+import io.k8swatcher.annotation.CacheStore;
+import io.k8swatcher.annotation.DispatchMode;
+import io.k8swatcher.annotation.OverflowPolicy;
 import java.util.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class InformerConfiguration {
 
     private Map<String, String> nsLabels = new HashMap<>();
     private Map<String, String> resLabels = new HashMap<>();
+    private List<String> nsLabelSelectors = new ArrayList<>();
+    private List<String> resLabelSelectors = new ArrayList<>();
     private Long resyncPeriod;
     private String clientName = "";
     private Set<String> nsNames = new HashSet<>();
+    private Integer clusterWatchThreshold;
+    private List<String> fieldSelectors = new ArrayList<>();
+    private Boolean metadataOnly;
+    private Boolean streaming;
+    private CacheStore cacheStore;
+    private Integer hotCacheSize;
+    private List<String> fields = new ArrayList<>();
+    private Boolean stripManagedFields;
+    private List<String> stripAnnotations = new ArrayList<>();
+    private List<String> transforms = new ArrayList<>();
+    private Integer poolSize;
+    private DispatchMode dispatchMode;
+    private Integer maxConcurrency;
+    private Integer queueCapacity;
+    private OverflowPolicy overflowPolicy;
+    private Boolean coalesce;
+    private Integer maxRetries;
+    private Long retryBaseDelayMs;
+    private Long retryMaxDelayMs;
+    private Double retryRateLimit;
+    private Integer retryBurst;
+    private String deadLetterHandler;
+
+    public InformerConfiguration(
+            Map<String, String> nsLabels,
+            Map<String, String> resLabels,
+            Long resyncPeriod,
+            String clientName,
+            Set<String> nsNames) {
+        this.nsLabels = nsLabels;
+        this.resLabels = resLabels;
+        this.resyncPeriod = resyncPeriod;
+        this.clientName = clientName;
+        this.nsNames = nsNames;
+    }
 }
@@ -32,6 +32,23 @@ public class InformerConfigurationProperty {
     @Setter(AccessLevel.NONE)
     private Map<String, InformerConfiguration> config = new HashMap<>();
 
+    /**
+     * Maximum number of informers doing their initial list at the same time on startup.
+     */
+    private int startupConcurrency = 10;
+
+    /**
+     * How long startup waits for the informers to complete their initial list. 0 does not wait.
+     */
+    private long syncTimeoutMs = 120_000;
+
+    /**
+     * Whether startup continues when the informers did not sync within {@link #syncTimeoutMs} or an informer could
+     * not be started. The application then reports readiness while the caches are still filled or empty. By default
+     * startup fails.
+     */
+    private boolean continueOnSyncTimeout;
+
     @PostConstruct
     public void postConstruct() {
         InformerConfiguration informerConfiguration = config.get("default");
@@ -26,6 +26,12 @@ import lombok.Setter;
 @AllArgsConstructor
 public class InformerContext {
 
+    @Setter(AccessLevel.NONE)
+    private String beanName;
+
+    @Setter(AccessLevel.NONE)
+    private Object bean;
+
     @Setter(AccessLevel.NONE)
     private Class<?> beanClass;
 
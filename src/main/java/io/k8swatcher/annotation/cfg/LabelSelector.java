@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.cfg;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One requirement of a Kubernetes label selector: {@code app=foo}, {@code app!=foo}, {@code tier in (web,api)},
+ * {@code env notin (dev)}, {@code canary} or {@code !canary}.
+ */
+public record LabelSelector(String key, Operator operator, List<String> values) {
+
+    private static final String KEY = "([A-Za-z0-9][-A-Za-z0-9_./]*)";
+    private static final String VALUE = "([-A-Za-z0-9_.]*)";
+    private static final Pattern EQUALITY = Pattern.compile(KEY + "\\s*(!=|==|=)\\s*" + VALUE);
+    private static final Pattern SET = Pattern.compile(KEY + "\\s+(in|notin)\\s*\\(([^()]*)\\)");
+    private static final Pattern EXISTS = Pattern.compile("(!?)\\s*" + KEY);
+    private static final Pattern SET_VALUE = Pattern.compile(VALUE);
+
+    public enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        IN,
+        NOT_IN,
+        EXISTS,
+        DOES_NOT_EXIST
+    }
+
+    /**
+     * @throws IllegalArgumentException if the requirement is not valid label selector syntax
+     */
+    public static LabelSelector parse(String selector) {
+        String trimmed = selector.trim();
+        Matcher matcher = EQUALITY.matcher(trimmed);
+        if (matcher.matches()) {
+            Operator operator = matcher.group(2).equals("!=") ? Operator.NOT_EQUALS : Operator.EQUALS;
+            return new LabelSelector(matcher.group(1), operator, List.of(matcher.group(3)));
+        }
+        matcher = SET.matcher(trimmed);
+        if (matcher.matches()) {
+            List<String> values = Arrays.stream(matcher.group(3).split(","))
+                    .map(String::trim)
+                    .toList();
+            if (values.stream().anyMatch(value -> !SET_VALUE.matcher(value).matches())) {
+                throw invalid(selector);
+            }
+            Operator operator = matcher.group(2).equals("in") ? Operator.IN : Operator.NOT_IN;
+            return new LabelSelector(matcher.group(1), operator, values);
+        }
+        matcher = EXISTS.matcher(trimmed);
+        if (matcher.matches()) {
+            Operator operator = matcher.group(1).isEmpty() ? Operator.EXISTS : Operator.DOES_NOT_EXIST;
+            return new LabelSelector(matcher.group(2), operator, List.of());
+        }
+        throw invalid(selector);
+    }
+
+    private static IllegalArgumentException invalid(String selector) {
+        return new IllegalArgumentException("Invalid label selector " + selector
+                + ". Format has to be key=value, key!=value, key in (a,b), key notin (a,b), key or !key");
+    }
+
+    @Override
+    public String toString() {
+        return switch (operator) {
+            case EQUALS -> key + "=" + values.get(0);
+            case NOT_EQUALS -> key + "!=" + values.get(0);
+            case IN -> key + " in (" + String.join(",", values) + ")";
+            case NOT_IN -> key + " notin (" + String.join(",", values) + ")";
+            case EXISTS -> key;
+            case DOES_NOT_EXIST -> "!" + key;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters and gauges of the informers and the event dispatcher, e.g. {@code dispatch.<bean>-<Resource>.queued}.
+ * With Micrometer and a {@code MeterRegistry} bean they are registered as meters by {@link MicrometerMetricsBinder},
+ * otherwise read them with {@link #get(String)} or {@link #snapshot()} to expose them through the metrics system of
+ * the application.
+ */
+@Component
+public class InformerMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        LongAdder created = new LongAdder();
+        counter = counters.putIfAbsent(name, created);
+        if (counter != null) {
+            return counter;
+        }
+        listeners.forEach(listener -> listener.accept(name));
+        return created;
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        if (gauges.put(name, value) == null) {
+            listeners.forEach(listener -> listener.accept(name));
+        }
+    }
+
+    /**
+     * Calls the listener with the name of every existing and every new counter and gauge. A name created while the
+     * listener is added may be passed twice.
+     */
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+        counters.keySet().forEach(listener);
+        gauges.keySet().forEach(listener);
+    }
+
+    /**
+     * Returns whether the name belongs to a counter, which only grows, instead of a gauge.
+     */
+    public boolean isCounter(String name) {
+        return counters.containsKey(name);
+    }
+
+    /**
+     * Returns the current value of a counter or gauge, 0 if it does not exist.
+     */
+    public long get(String name) {
+        LongAdder counter = counters.get(name);
+        if (counter != null) {
+            return counter.sum();
+        }
+        LongSupplier gauge = gauges.get(name);
+        return gauge == null ? 0 : gauge.getAsLong();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.getAsLong()));
+        return snapshot;
+    }
+}
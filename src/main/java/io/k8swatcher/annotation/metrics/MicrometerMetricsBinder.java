@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the counters and gauges of {@link InformerMetrics} with the {@link MeterRegistry} bean of the application,
+ * also the ones created later for new beans and namespaces. The bean and resource move from the name into tags:
+ * {@code dispatch.<bean>-<Resource>.queued} becomes {@code k8swatcher.dispatch.queued} with the tags {@code bean} and
+ * {@code resource}, {@code dispatch.<bean>-<Resource>.filter.<method>.accepted} becomes
+ * {@code k8swatcher.dispatch.filter.accepted} with the additional tag {@code method}.
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+@Slf4j
+public class MicrometerMetricsBinder implements SmartInitializingSingleton {
+
+    static final String PREFIX = "k8swatcher.";
+    private static final String FILTER = "filter.";
+
+    private final InformerMetrics metrics;
+    private final ObjectProvider<MeterRegistry> registries;
+
+    public MicrometerMetricsBinder(InformerMetrics metrics, ObjectProvider<MeterRegistry> registries) {
+        this.metrics = metrics;
+        this.registries = registries;
+    }
+
+    /**
+     * Binds to the registry once all beans exist, with several registries only to the primary one, which is the
+     * composite registry of Spring Boot.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        registries.ifUnique(this::bindTo);
+    }
+
+    void bindTo(MeterRegistry registry) {
+        log.debug("Registering informer metrics with {}", registry.getClass().getSimpleName());
+        metrics.addListener(name -> register(registry, name));
+    }
+
+    private void register(MeterRegistry registry, String name) {
+        MeterName meterName = MeterName.of(name);
+        // the value is read by name, a gauge registered again under the same name replaces its supplier
+        if (metrics.isCounter(name)) {
+            FunctionCounter.builder(meterName.name(), metrics, informerMetrics -> informerMetrics.get(name))
+                    .tags(meterName.tags())
+                    .register(registry);
+        } else {
+            Gauge.builder(meterName.name(), metrics, informerMetrics -> informerMetrics.get(name))
+                    .tags(meterName.tags())
+                    .strongReference(true)
+                    .register(registry);
+        }
+    }
+
+    record MeterName(String name, Tags tags) {
+
+        /**
+         * Splits {@code <category>.<bean>-<Resource>.<metric>} into the meter name and its tags. The resource is a
+         * simple class name without dots and dashes, so the scope ends at the first dot after a dash, also when the
+         * bean name contains dots or dashes. Names without a scope, like {@code dispatch.timers.pending}, keep no tags.
+         */
+        static MeterName of(String name) {
+            int category = name.indexOf('.');
+            int dash = name.indexOf('-', category + 1);
+            int scopeEnd = dash < 0 ? -1 : name.indexOf('.', dash);
+            if (category < 0 || scopeEnd < 0) {
+                return new MeterName(PREFIX + name, Tags.empty());
+            }
+            String scope = name.substring(category + 1, scopeEnd);
+            int separator = scope.lastIndexOf('-');
+            Tags tags = Tags.of("bean", scope.substring(0, separator), "resource", scope.substring(separator + 1));
+            String metric = name.substring(scopeEnd + 1);
+            int methodEnd = metric.lastIndexOf('.');
+            if (metric.startsWith(FILTER) && methodEnd > FILTER.length()) {
+                tags = tags.and("method", metric.substring(FILTER.length(), methodEnd));
+                metric = FILTER + metric.substring(methodEnd + 1);
+            }
+            return new MeterName(PREFIX + name.substring(0, category + 1) + metric, tags);
+        }
+    }
+}
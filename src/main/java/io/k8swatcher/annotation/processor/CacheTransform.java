@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntry;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Prunes objects before an informer caches them: {@code metadataOnly} projection, {@code fields} projection,
+ * {@code stripManagedFields}, {@code stripAnnotations} and the user {@code transforms}, in this order. All steps
+ * change the object in place, so the handlers receive the pruned object as well. The size of the removed
+ * managedFields and annotations is estimated from their JSON length and added to {@code bytesSaved}.
+ */
+final class CacheTransform<T extends HasMetadata> implements UnaryOperator<T> {
+
+    private final boolean metadataOnly;
+    private final FieldProjection fields;
+    private final boolean stripManagedFields;
+    private final Pattern[] stripAnnotations;
+    private final List<Consumer<T>> transforms;
+    private final LongAdder bytesSaved;
+
+    /**
+     * @param fields the paths to keep, all fields when empty
+     * @param stripAnnotations regular expressions, annotations whose key matches one of them are removed
+     */
+    CacheTransform(
+            boolean metadataOnly,
+            Collection<String> fields,
+            boolean stripManagedFields,
+            Collection<String> stripAnnotations,
+            List<Consumer<T>> transforms,
+            LongAdder bytesSaved) {
+        this.metadataOnly = metadataOnly;
+        this.fields = fields.isEmpty() ? null : new FieldProjection(fields);
+        this.stripManagedFields = stripManagedFields;
+        this.stripAnnotations = stripAnnotations.stream().map(Pattern::compile).toArray(Pattern[]::new);
+        this.transforms = transforms;
+        this.bytesSaved = bytesSaved;
+    }
+
+    @Override
+    public T apply(T obj) {
+        if (metadataOnly) {
+            MetadataProjection.project(obj);
+        }
+        if (fields != null) {
+            fields.project(obj);
+        }
+        ObjectMeta metadata = obj.getMetadata();
+        if (metadata != null) {
+            long saved = 0;
+            if (stripManagedFields && metadata.getManagedFields() != null) {
+                for (ManagedFieldsEntry entry : metadata.getManagedFields()) {
+                    saved += jsonLength(entry);
+                }
+                metadata.setManagedFields(null);
+            }
+            Map<String, String> annotations = metadata.getAnnotations();
+            if (stripAnnotations.length > 0 && annotations != null) {
+                Map<String, String> kept = new LinkedHashMap<>(annotations.size());
+                for (Map.Entry<String, String> annotation : annotations.entrySet()) {
+                    if (matches(annotation.getKey())) {
+                        saved += jsonLength(annotation.getKey()) + jsonLength(annotation.getValue()) + 2;
+                    } else {
+                        kept.put(annotation.getKey(), annotation.getValue());
+                    }
+                }
+                if (kept.size() < annotations.size()) {
+                    metadata.setAnnotations(kept);
+                }
+            }
+            bytesSaved.add(saved);
+        }
+        for (Consumer<T> transform : transforms) {
+            transform.accept(obj);
+        }
+        return obj;
+    }
+
+    private boolean matches(String key) {
+        for (Pattern pattern : stripAnnotations) {
+            if (pattern.matcher(key).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long jsonLength(ManagedFieldsEntry entry) {
+        // field names, quotes and separators of the entry
+        long length = 110;
+        length += jsonLength(entry.getApiVersion()) + jsonLength(entry.getFieldsType()) + jsonLength(entry.getManager())
+                + jsonLength(entry.getOperation()) + jsonLength(entry.getSubresource()) + jsonLength(entry.getTime());
+        if (entry.getFieldsV1() != null) {
+            length += jsonLength(entry.getFieldsV1().getAdditionalProperties());
+        }
+        return length;
+    }
+
+    /**
+     * Estimates the length of the value serialized as JSON without serializing it.
+     */
+    private static long jsonLength(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof String string) {
+            return string.length() + 2L;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long length = 2 + Math.max(0, map.size() - 1);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                length += jsonLength(String.valueOf(entry.getKey())) + 1 + jsonLength(entry.getValue());
+            }
+            return length;
+        }
+        if (value instanceof Collection<?> collection) {
+            long length = 2 + Math.max(0, collection.size() - 1);
+            for (Object element : collection) {
+                length += jsonLength(element);
+            }
+            return length;
+        }
+        return String.valueOf(value).length();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.k8swatcher.annotation.Change;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Watch;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * The {@link Watch#changes()} and {@link Watch#changedPaths()} of an UPDATE method, compiled once. It is evaluated
+ * on the informer thread, so UPDATEs without a relevant change never take a queue slot.
+ */
+final class ChangeFilter {
+
+    private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
+
+    /**
+     * The non-static fields of a class by their JSON name.
+     */
+    private static final ClassValue<Map<String, Field>> JSON_FIELDS = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            Map<String, Field> fields = new HashMap<>();
+            ReflectionUtils.doWithFields(
+                    type,
+                    field -> {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.putIfAbsent(FieldProjection.jsonName(field), field);
+                    },
+                    field -> !Modifier.isStatic(field.getModifiers()));
+            return fields;
+        }
+    };
+
+    private final Change[] changes;
+    private final PathSegment[][] paths;
+
+    private ChangeFilter(Change[] changes, PathSegment[][] paths) {
+        this.changes = changes;
+        this.paths = paths;
+    }
+
+    /**
+     * Returns the filter of an UPDATE method, {@code null} if it accepts every UPDATE.
+     */
+    static ChangeFilter of(Method method) {
+        Watch watch = method.getAnnotation(Watch.class);
+        if (watch.event() != EventType.UPDATE || (watch.changes().length == 0 && watch.changedPaths().length == 0)) {
+            return null;
+        }
+        PathSegment[][] paths = Arrays.stream(watch.changedPaths())
+                .map(path -> Arrays.stream(path.split("\\.")).map(PathSegment::new).toArray(PathSegment[]::new))
+                .toArray(PathSegment[][]::new);
+        return new ChangeFilter(watch.changes(), paths);
+    }
+
+    boolean test(Object oldObj, Object newObj) {
+        for (Change change : changes) {
+            if (changed(change, oldObj, newObj)) {
+                return true;
+            }
+        }
+        for (PathSegment[] path : paths) {
+            if (!Objects.equals(valueAt(oldObj, path), valueAt(newObj, path))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean changed(Change change, Object oldObj, Object newObj) {
+        Function<ObjectMeta, Object> field =
+                switch (change) {
+                    case GENERATION -> ObjectMeta::getGeneration;
+                    case LABELS -> ObjectMeta::getLabels;
+                    case ANNOTATIONS -> ObjectMeta::getAnnotations;
+                };
+        return !Objects.equals(metadata(oldObj, field), metadata(newObj, field));
+    }
+
+    private static Object metadata(Object obj, Function<ObjectMeta, Object> field) {
+        if (obj instanceof HasMetadata resource && resource.getMetadata() != null) {
+            return field.apply(resource.getMetadata());
+        }
+        return null;
+    }
+
+    private static Object valueAt(Object obj, PathSegment[] path) {
+        Object current = obj;
+        for (int i = 0; i < path.length && current != null; i++) {
+            current = path[i].read(current);
+        }
+        return current;
+    }
+
+    /**
+     * A name of a changed path, resolved like {@link FieldProjection} by the JSON name of the field, with the field
+     * looked up once per class.
+     */
+    private static final class PathSegment {
+
+        private final String name;
+
+        private final ClassValue<Field> fields = new ClassValue<>() {
+            @Override
+            protected Field computeValue(Class<?> type) {
+                return JSON_FIELDS.get(type).get(name);
+            }
+        };
+
+        private PathSegment(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Reads the field of a model class or the key of a map. Fields unknown to the model, e.g. the spec of a
+         * {@code GenericKubernetesResource}, are looked up in its additional properties.
+         */
+        Object read(Object target) {
+            if (target instanceof Map<?, ?> map) {
+                return map.get(name);
+            }
+            Field field = fields.get(target.getClass());
+            Object value = field == null ? null : ReflectionUtils.getField(field, target);
+            if (value == null
+                    && JSON_FIELDS.get(target.getClass()).get(ADDITIONAL_PROPERTIES) instanceof Field additionalField
+                    && ReflectionUtils.getField(additionalField, target) instanceof Map<?, ?> additional) {
+                return additional.get(name);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out direct buffers carved from shared chunks, so an {@link io.k8swatcher.annotation.CacheStore#OFF_HEAP}
+ * store does not allocate direct memory per object, which is only freed by the garbage collector. The sizes are
+ * rounded up to size classes of a quarter power of two and released buffers are reused for their class, so the
+ * direct memory of a store is bounded by its largest size. Objects larger than {@link #MAX_POOLED} are not pooled,
+ * a direct buffer of their own would only be freed by the garbage collector again, the store keeps them on the heap.
+ */
+final class DirectBufferPool {
+
+    static final int CHUNK_SIZE = 1 << 20;
+    static final int MAX_POOLED = CHUNK_SIZE / 8;
+
+    private final Map<Integer, ArrayDeque<ByteBuffer>> free = new HashMap<>();
+    private ByteBuffer chunk;
+
+    /**
+     * Returns a buffer with {@code length} bytes remaining. Every call returns a new buffer object, also when its
+     * memory is reused.
+     *
+     * @throws IllegalArgumentException if {@code length} is larger than {@link #MAX_POOLED}
+     */
+    synchronized ByteBuffer allocate(int length) {
+        if (length > MAX_POOLED) {
+            throw new IllegalArgumentException("Buffers larger than " + MAX_POOLED + " bytes are not pooled");
+        }
+        int size = sizeClass(length);
+        ArrayDeque<ByteBuffer> buffers = free.get(size);
+        ByteBuffer buffer = buffers == null ? null : buffers.pollFirst();
+        if (buffer == null) {
+            if (chunk == null || chunk.remaining() < size) {
+                chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            }
+            buffer = chunk.slice(chunk.position(), size);
+            chunk.position(chunk.position() + size);
+        }
+        return buffer.duplicate().clear().limit(length);
+    }
+
+    /**
+     * Returns the buffer for reuse, it must no longer be read.
+     */
+    synchronized void release(ByteBuffer buffer) {
+        free.computeIfAbsent(buffer.capacity(), size -> new ArrayDeque<>()).addLast(buffer);
+    }
+
+    static int sizeClass(int length) {
+        if (length <= 64) {
+            return 64;
+        }
+        int step = Integer.highestOneBit(length - 1) >> 2;
+        return (length + step - 1) / step * step;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import java.util.List;
+
+/**
+ * Runs the {@link DispatchTask}s of one handler, see {@link KeyOrderedExecutor} and {@link WorkQueue}.
+ */
+interface DispatchExecutor {
+
+    void execute(DispatchTask task);
+
+    /**
+     * Submits the task unless it would have to wait for space in a full queue, the overflow policies which drop
+     * tasks apply as for {@link #execute(DispatchTask)}.
+     *
+     * @return false if the task was not submitted because the queue is full
+     */
+    boolean offer(DispatchTask task);
+
+    /**
+     * Submits the DELETE tasks of the given object, which may be none if only other events of the object are
+     * watched.
+     */
+    void delete(Object obj, List<DispatchTask> tasks);
+
+    /**
+     * Whether queued events of the same object are merged. Coalescing executors are notified of every delete.
+     */
+    boolean isCoalescing();
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.OverflowPolicy;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A bounded queue of {@link DispatchTask}s which are run one after another on a shared executor. The lane occupies
+ * at most one thread of the executor at a time and gives it back after every task, so many lanes can share a small
+ * pool fairly. What happens when the queue is full is decided by the {@link OverflowPolicy}.
+ * <p>
+ * With coalescing enabled a queued UPDATE of an object absorbs newer UPDATEs of the same method, and an ADD which
+ * no method has handled yet when the object is deleted cancels out together with the events of the object queued
+ * after it.
+ */
+@Slf4j
+final class DispatchLane implements Runnable {
+
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean coalesce;
+    private final LaneMetrics metrics;
+    private final ArrayDeque<DispatchTask> queue = new ArrayDeque<>();
+    private final Map<String, PendingEvents> pendingByKey;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private boolean scheduled;
+
+    /**
+     * The task run last, the ADD tasks of one event are submitted one after another and the first may already run
+     * when the next is queued.
+     */
+    private DispatchTask lastPolled;
+
+    DispatchLane(Executor executor, int capacity, OverflowPolicy overflowPolicy, LaneMetrics metrics) {
+        this(executor, capacity, overflowPolicy, false, metrics);
+    }
+
+    DispatchLane(
+            Executor executor, int capacity, OverflowPolicy overflowPolicy, boolean coalesce, LaneMetrics metrics) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.coalesce = coalesce;
+        this.metrics = metrics;
+        this.pendingByKey = coalesce || overflowPolicy == OverflowPolicy.COALESCE ? new HashMap<>() : null;
+    }
+
+    void submit(DispatchTask task) {
+        submit(task, true);
+    }
+
+    /**
+     * Submits the task unless it would have to wait for space, see {@link DispatchExecutor#offer(DispatchTask)}.
+     */
+    boolean offer(DispatchTask task) {
+        return submit(task, false);
+    }
+
+    private boolean submit(DispatchTask task, boolean wait) {
+        lock.lock();
+        try {
+            if (coalesce && task.event() == EventType.UPDATE && merge(task)) {
+                return true;
+            }
+            while (queue.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case BLOCK -> {
+                        if (!wait) {
+                            return false;
+                        }
+                        notFull.awaitUninterruptibly();
+                    }
+                    case DROP_OLDEST -> discard(poll());
+                    case DROP_NEWEST -> {
+                        discard(task);
+                        return true;
+                    }
+                    case COALESCE -> {
+                        if (merge(task)) {
+                            return true;
+                        }
+                        if (!wait) {
+                            return false;
+                        }
+                        notFull.awaitUninterruptibly();
+                    }
+                }
+            }
+            enqueue(task);
+            if (scheduled) {
+                return true;
+            }
+            scheduled = true;
+        } finally {
+            lock.unlock();
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * Submits the DELETE tasks of an object, which may be none if only other events of the object are watched. With
+     * coalescing, if no method has handled the first queued ADD of the object yet, that ADD, the events queued after
+     * it and the DELETE tasks are discarded. Events queued before it, like the DELETE of an earlier object with the
+     * same name, are kept.
+     */
+    void submitDelete(String key, List<DispatchTask> tasks) {
+        if (coalesce && key != null) {
+            lock.lock();
+            try {
+                PendingEvents pending = pendingByKey.get(key);
+                if (pending != null && pending.adds > 0 && cancel(key, pending, tasks.size())) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        tasks.forEach(this::submit);
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void run() {
+        DispatchTask task;
+        lock.lock();
+        try {
+            task = poll();
+            lastPolled = task;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (task != null) {
+                task.run();
+            }
+        } catch (RuntimeException e) {
+            log.error("Error while handling {}", task, e);
+        } finally {
+            boolean hasMore;
+            lock.lock();
+            try {
+                hasMore = !queue.isEmpty();
+                scheduled = hasMore;
+            } finally {
+                lock.unlock();
+            }
+            if (hasMore) {
+                schedule();
+            }
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            lock.lock();
+            try {
+                log.debug("Dispatcher is stopped, discarding {} queued events", queue.size());
+                while (!queue.isEmpty()) {
+                    discard(poll());
+                }
+                scheduled = false;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void enqueue(DispatchTask task) {
+        queue.addLast(task);
+        metrics.queued().incrementAndGet();
+        if (pendingByKey != null) {
+            String key = task.key();
+            if (key != null) {
+                PendingEvents pending = pendingByKey.computeIfAbsent(key, k -> new PendingEvents());
+                pending.add(task);
+                if (task.event() == EventType.ADD
+                        && lastPolled != null
+                        && lastPolled.event() == EventType.ADD
+                        && lastPolled.getObj() == task.getObj()) {
+                    pending.addHandled = true;
+                }
+            }
+        }
+    }
+
+    private DispatchTask poll() {
+        DispatchTask task = queue.pollFirst();
+        if (task != null) {
+            metrics.queued().decrementAndGet();
+            if (pendingByKey != null) {
+                String key = task.key();
+                PendingEvents pending = key == null ? null : pendingByKey.get(key);
+                if (pending != null && pending.remove(task)) {
+                    pendingByKey.remove(key);
+                }
+            }
+            notFull.signal();
+        }
+        return task;
+    }
+
+    /**
+     * Merges the task into the queued task of the same method for the same object, if there is one which is not
+     * followed by an event of another type.
+     */
+    private boolean merge(DispatchTask task) {
+        String key = task.key();
+        PendingEvents pending = key == null ? null : pendingByKey.get(key);
+        DispatchTask queued = pending == null ? null : pending.latest.get(task.getInvoker());
+        if (queued == null) {
+            return false;
+        }
+        queued.merge(task);
+        metrics.coalesced().increment();
+        return true;
+    }
+
+    /**
+     * Discards the events of the object from its first queued ADD on, unless a method has already handled an ADD of
+     * the same event. A DELETE of the object queued before the ADD means the ADD belongs to a new object which no
+     * method has seen.
+     *
+     * @return whether the events were discarded
+     */
+    private boolean cancel(String key, PendingEvents pending, int deletes) {
+        int firstAdd = 0;
+        boolean deleteBefore = false;
+        for (DispatchTask queued : queue) {
+            if (key.equals(queued.key())) {
+                if (queued.event() == EventType.ADD) {
+                    break;
+                }
+                deleteBefore |= queued.event() == EventType.DELETE;
+            }
+            firstAdd++;
+        }
+        if (pending.addHandled && !deleteBefore) {
+            return false;
+        }
+        int removed = 0;
+        PendingEvents remaining = new PendingEvents();
+        Iterator<DispatchTask> iterator = queue.iterator();
+        for (int i = 0; iterator.hasNext(); i++) {
+            DispatchTask queued = iterator.next();
+            if (!key.equals(queued.key())) {
+                continue;
+            }
+            if (i >= firstAdd) {
+                iterator.remove();
+                removed++;
+            } else {
+                remaining.add(queued);
+            }
+        }
+        if (remaining.latest.isEmpty()) {
+            pendingByKey.remove(key);
+        } else {
+            pendingByKey.put(key, remaining);
+        }
+        metrics.queued().addAndGet(-removed);
+        metrics.coalesced().add(removed + deletes);
+        notFull.signalAll();
+        log.debug("{} was deleted before it was handled, discarding {} queued events", key, removed);
+        return true;
+    }
+
+    private void discard(DispatchTask task) {
+        metrics.dropped().increment();
+        log.debug("Dispatch queue is full, dropping {}", task);
+    }
+
+    /**
+     * The queued events of one object: the latest task per method which newer events may be merged into, the number
+     * of queued ADDs, and whether an ADD was handled while others are still queued.
+     */
+    private static final class PendingEvents {
+
+        private final Map<WatchMethodInvoker, DispatchTask> latest = new HashMap<>(4);
+        private int adds;
+        private boolean addHandled;
+
+        void add(DispatchTask task) {
+            // merging across an event of another type would reorder the events of the object
+            latest.values().removeIf(queued -> queued.event() != task.event());
+            latest.put(task.getInvoker(), task);
+            if (task.event() == EventType.ADD) {
+                adds++;
+            }
+        }
+
+        /**
+         * Returns {@code true} if no events of the object are tracked anymore.
+         */
+        boolean remove(DispatchTask task) {
+            latest.remove(task.getInvoker(), task);
+            if (task.event() == EventType.ADD) {
+                adds--;
+                // with several ADD methods the other ones are still queued, the object has been seen
+                addHandled = adds > 0;
+            } else if (task.event() == EventType.DELETE) {
+                // the ADDs queued after a DELETE belong to a new object
+                addHandled = false;
+            }
+            return latest.isEmpty() && adds == 0;
+        }
+    }
+}
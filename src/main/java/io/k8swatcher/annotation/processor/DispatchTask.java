@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.ResourceEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/**
+ * A queued call of one {@link io.k8swatcher.annotation.Watch} method for one event or one batch of events, or of one
+ * {@link io.k8swatcher.annotation.Reconcile} method for the key of an object.
+ */
+final class DispatchTask implements Runnable {
+
+    @Getter
+    private final WatchMethodInvoker invoker;
+
+    private final Supplier<?> beanSupplier;
+    private final Object oldObj;
+
+    @Getter
+    private Object obj;
+
+    private boolean deletedFinalStateUnknown;
+
+    /**
+     * Looks up the latest state of an object by its key when a reconcile task runs.
+     */
+    private final Function<String, Object> cache;
+
+    DispatchTask(
+            WatchMethodInvoker invoker,
+            Supplier<?> beanSupplier,
+            Object oldObj,
+            Object obj,
+            boolean deletedFinalStateUnknown) {
+        this(invoker, beanSupplier, oldObj, obj, deletedFinalStateUnknown, null);
+    }
+
+    private DispatchTask(
+            WatchMethodInvoker invoker,
+            Supplier<?> beanSupplier,
+            Object oldObj,
+            Object obj,
+            boolean deletedFinalStateUnknown,
+            Function<String, Object> cache) {
+        this.invoker = invoker;
+        this.beanSupplier = beanSupplier;
+        this.oldObj = oldObj;
+        this.obj = obj;
+        this.deletedFinalStateUnknown = deletedFinalStateUnknown;
+        this.cache = cache;
+    }
+
+    /**
+     * Creates the task of a reconcile method for the object of an event. The method gets the state of the object
+     * in the cache when the task runs, not the state of the event.
+     */
+    static DispatchTask reconcile(
+            WatchMethodInvoker invoker, Supplier<?> beanSupplier, Object obj, Function<String, Object> cache) {
+        return new DispatchTask(invoker, beanSupplier, null, obj, false, cache);
+    }
+
+    EventType event() {
+        return invoker.getEvent();
+    }
+
+    String key() {
+        return keyOf(obj);
+    }
+
+    /**
+     * Returns namespace/name of the object or {@code null} if it has no metadata.
+     */
+    static String keyOf(Object obj) {
+        if (!(obj instanceof HasMetadata hasMetadata) || hasMetadata.getMetadata() == null) {
+            return null;
+        }
+        ObjectMeta metadata = hasMetadata.getMetadata();
+        return metadata.getNamespace() == null
+                ? metadata.getName()
+                : metadata.getNamespace() + "/" + metadata.getName();
+    }
+
+    /**
+     * Takes over the payload of a newer event of the same method for the same object. The old object of an UPDATE
+     * is kept, so the method sees the whole change from the state it last knew to the latest state.
+     */
+    void merge(DispatchTask newer) {
+        this.obj = newer.obj;
+        this.deletedFinalStateUnknown = newer.deletedFinalStateUnknown;
+    }
+
+    @Override
+    public void run() {
+        call();
+    }
+
+    /**
+     * Runs the task and returns the delay after which a reconcile method asked to be called again, {@code null} if
+     * it did not.
+     */
+    Duration call() {
+        Object bean = beanSupplier.get();
+        if (invoker.isReconcile()) {
+            String key = key();
+            return invoker.invokeReconcile(bean, key, cache.apply(key));
+        }
+        if (invoker.isBatch()) {
+            invoker.invokeBatch(bean, (List<?>) obj);
+            return null;
+        }
+        switch (event()) {
+            case ADD, RESYNC -> invoker.invokeAdd(bean, obj);
+            case UPDATE -> invoker.invokeUpdate(bean, oldObj, obj);
+            case DELETE -> invoker.invokeDelete(bean, obj, deletedFinalStateUnknown);
+        }
+        return null;
+    }
+
+    ResourceEvent<?> toResourceEvent() {
+        return new ResourceEvent<>(event(), oldObj, obj, deletedFinalStateUnknown);
+    }
+
+    @Override
+    public String toString() {
+        return (invoker.isReconcile() ? "RECONCILE" : event()) + " " + key() + " -> " + invoker.getMethod().getName();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.ResourceEvent;
+import io.k8swatcher.annotation.Watch;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects the events of a batched {@link Watch} method and hands them over as one {@link DispatchTask} when
+ * {@link Watch#batchSize()} events are collected or {@link Watch#batchWindowMs()} has passed since the first one.
+ * Batches are submitted in order to the same lane, so they are handled one after another. When the queue is full,
+ * the informer thread waits for space as for single events, the shared timer never does.
+ */
+@Slf4j
+final class EventBatcher {
+
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    @Getter
+    private final WatchMethodInvoker invoker;
+
+    private final Supplier<?> beanSupplier;
+    private final DispatchExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final ChangeFilter changeFilter;
+    private final EventFilter eventFilter;
+    private final int batchSize;
+    private final long batchWindowMs;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Batches which are complete but not yet submitted, because the queue was full when the window closed.
+     */
+    private final ArrayDeque<DispatchTask> sealed = new ArrayDeque<>();
+
+    private List<Object> buffer;
+    private ScheduledFuture<?> flushTimer;
+
+    EventBatcher(
+            WatchMethodInvoker invoker,
+            Supplier<?> beanSupplier,
+            DispatchExecutor executor,
+            ScheduledExecutorService scheduler,
+            ChangeFilter changeFilter,
+            EventFilter eventFilter) {
+        Watch watch = invoker.getMethod().getAnnotation(Watch.class);
+        this.invoker = invoker;
+        this.beanSupplier = beanSupplier;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.changeFilter = changeFilter;
+        this.eventFilter = eventFilter;
+        this.batchSize = watch.batchSize();
+        this.batchWindowMs = watch.batchWindowMs();
+    }
+
+    /**
+     * Returns {@code false} if the {@link EventFilter} rejected the object.
+     */
+    boolean add(Object obj) {
+        if (eventFilter != null && !eventFilter.test(obj)) {
+            return false;
+        }
+        addElement(invoker.isResourceEvents() ? new ResourceEvent<>(invoker.getEvent(), null, obj, false) : obj);
+        return true;
+    }
+
+    void update(Object oldObj, Object newObj) {
+        if (changeFilter != null && !changeFilter.test(oldObj, newObj)) {
+            return;
+        }
+        if (eventFilter != null && !eventFilter.test(newObj)) {
+            return;
+        }
+        addElement(new ResourceEvent<>(invoker.getEvent(), oldObj, newObj, false));
+    }
+
+    void delete(Object obj, boolean deletedFinalStateUnknown) {
+        if (eventFilter != null && !eventFilter.test(obj)) {
+            return;
+        }
+        addElement(
+                invoker.isResourceEvents()
+                        ? new ResourceEvent<>(invoker.getEvent(), null, obj, deletedFinalStateUnknown)
+                        : obj);
+    }
+
+    /**
+     * Hands over the collected events, if any, waiting for space in the queue.
+     */
+    void flush() {
+        lock.lock();
+        try {
+            seal();
+            handOver(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs on the shared scheduler, which must not wait for the queue of one method: the batch is only offered, and
+     * while the queue is full or the informer thread is waiting for space it is tried again after the window. The
+     * timer may fire just after the batch was submitted because it was full, the next batch gets its own window.
+     */
+    private void flushWindow(List<Object> batch) {
+        if (!lock.tryLock()) {
+            retry(batch);
+            return;
+        }
+        try {
+            if (batch != null && buffer == batch) {
+                seal();
+            }
+            if (!handOver(false)) {
+                retry(null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void addElement(Object element) {
+        lock.lock();
+        try {
+            if (buffer == null) {
+                // batches the timer could not hand over are not left to pile up, the informer thread waits for them
+                handOver(true);
+                buffer = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_CAPACITY));
+                scheduleFlush();
+            }
+            buffer.add(element);
+            if (buffer.size() >= batchSize) {
+                seal();
+                handOver(true);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void scheduleFlush() {
+        List<Object> batch = buffer;
+        try {
+            flushTimer = scheduler.schedule(() -> flushWindow(batch), batchWindowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatcher is stopped, {} is only flushed when the batch is full", invoker.getMethod());
+        }
+    }
+
+    private void retry(List<Object> batch) {
+        try {
+            scheduler.schedule(() -> flushWindow(batch), batchWindowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatcher is stopped, {} is only flushed when the next batch is full", invoker.getMethod());
+        }
+    }
+
+    // called with the lock held, so batches are handed over in the order they were collected
+    private void seal() {
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+        if (buffer == null) {
+            return;
+        }
+        List<Object> batch = Collections.unmodifiableList(buffer);
+        buffer = null;
+        sealed.add(new DispatchTask(invoker, beanSupplier, null, batch, false));
+    }
+
+    /**
+     * Submits the sealed batches in order, called with the lock held.
+     *
+     * @param wait whether to wait for space in the queue, otherwise the batches which do not fit are kept
+     * @return whether all sealed batches were submitted
+     */
+    private boolean handOver(boolean wait) {
+        for (DispatchTask task = sealed.peekFirst(); task != null; task = sealed.peekFirst()) {
+            if (wait) {
+                executor.execute(task);
+            } else if (!executor.offer(task)) {
+                return false;
+            }
+            sealed.pollFirst();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.DeadLetterHandler;
+import io.k8swatcher.annotation.DispatchMode;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.cfg.InformerConfiguration;
+import io.k8swatcher.annotation.cfg.InformerContext;
+import io.k8swatcher.annotation.metrics.InformerMetrics;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owns the threads that run {@link io.k8swatcher.annotation.Watch} methods. Every watched resource of an
+ * {@link io.k8swatcher.annotation.Informer} bean gets its own bounded pool (bulkhead), shared by the handlers of
+ * all its namespaces, so a slow handler for one resource cannot starve the handlers of another.
+ */
+@Component
+@Slf4j
+public class EventDispatcher {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final long TIMER_TICK_MS = 10;
+    private static final int TIMER_WHEEL_SIZE = 1024;
+    private static final int STREAM_THREADS = 4;
+
+    /**
+     * {@code Executors.newThreadPerTaskExecutor(ThreadFactory)}, {@code null} before Java 21.
+     */
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR = findNewThreadPerTaskExecutor();
+
+    private final InformerMetrics metrics;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final AtomicBoolean virtualFallbackLogged = new AtomicBoolean();
+
+    /**
+     * Flushes the batches of {@link io.k8swatcher.annotation.Watch#batchSize()} methods when their window closes.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final ScheduledExecutorService batchScheduler;
+
+    /**
+     * Hands failed events of {@link DispatchMode#WORK_QUEUE} handlers back to their queue when the backoff is over,
+     * and requeues the keys of {@link io.k8swatcher.annotation.Reconcile} methods which returned a delay.
+     */
+    private final TimingWheel timers;
+
+    /**
+     * Lists and watches the resources of {@code streaming} informers, shared by all {@link StreamingWatch}es.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final ScheduledExecutorService streamScheduler;
+
+    private final Map<String, TokenBucket> retryRateLimiters = new ConcurrentHashMap<>();
+
+    public EventDispatcher(InformerMetrics metrics) {
+        this.metrics = metrics;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("k8swatcher-batch-");
+        threadFactory.setDaemon(true);
+        this.batchScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        CustomizableThreadFactory timerThreadFactory = new CustomizableThreadFactory("k8swatcher-timer-");
+        timerThreadFactory.setDaemon(true);
+        this.timers = new TimingWheel(TIMER_TICK_MS, TimeUnit.MILLISECONDS, TIMER_WHEEL_SIZE, timerThreadFactory);
+        metrics.gauge("dispatch.timers.pending", timers::pending);
+        CustomizableThreadFactory streamThreadFactory = new CustomizableThreadFactory("k8swatcher-stream-");
+        streamThreadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor streamScheduler =
+                new ScheduledThreadPoolExecutor(STREAM_THREADS, streamThreadFactory);
+        streamScheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        streamScheduler.allowCoreThreadTimeOut(true);
+        streamScheduler.setRemoveOnCancelPolicy(true);
+        this.streamScheduler = streamScheduler;
+    }
+
+    /**
+     * Returns an executor for one handler which runs its tasks on the bulkhead of the given resource. In
+     * {@link DispatchMode#KEY_ORDERED} mode the tasks are striped over {@code poolSize} lanes, in
+     * {@link DispatchMode#VIRTUAL} mode over {@code maxConcurrency} lanes running on virtual threads, otherwise they
+     * all share a single lane. A {@link DispatchMode#SERIAL} handler of a cluster-wide watch receives the events of
+     * all namespaces, its tasks are striped over {@code poolSize} lanes by namespace. The handler queues at most
+     * {@code queueCapacity} tasks, when it is full the {@code overflowPolicy} applies. With {@code coalesce} queued
+     * events of the same object are merged.
+     */
+    KeyOrderedExecutor executor(InformerContext context, Class<?> resource, DispatchMode mode, boolean clusterWide) {
+        InformerConfiguration cfg = context.getCfg();
+        String name = name(context, resource);
+        int queueCapacity = cfg.getQueueCapacity() <= 0 ? Integer.MAX_VALUE : cfg.getQueueCapacity();
+        if (mode == DispatchMode.VIRTUAL) {
+            if (NEW_THREAD_PER_TASK_EXECUTOR != null) {
+                int maxConcurrency = cfg.getMaxConcurrency();
+                Bulkhead bulkhead = bulkheads.computeIfAbsent(
+                        name + "-virtual", key -> createVirtualBulkhead(key, maxConcurrency));
+                return new KeyOrderedExecutor(
+                        bulkhead.executor(),
+                        maxConcurrency,
+                        queueCapacity,
+                        cfg.getOverflowPolicy(),
+                        cfg.getCoalesce(),
+                        bulkhead.laneMetrics());
+            }
+            if (virtualFallbackLogged.compareAndSet(false, true)) {
+                log.warn("Virtual threads require Java 21 or newer, using KEY_ORDERED dispatch instead of VIRTUAL");
+            }
+            mode = DispatchMode.KEY_ORDERED;
+        }
+        int poolSize = cfg.getPoolSize();
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, key -> createBulkhead(key, poolSize));
+        boolean byNamespace = mode == DispatchMode.SERIAL && clusterWide;
+        return new KeyOrderedExecutor(
+                bulkhead.executor(),
+                mode == DispatchMode.KEY_ORDERED || byNamespace ? poolSize : 1,
+                byNamespace,
+                queueCapacity,
+                cfg.getOverflowPolicy(),
+                cfg.getCoalesce(),
+                bulkhead.laneMetrics());
+    }
+
+    /**
+     * Returns a {@link WorkQueue} for one handler which runs its tasks on the bulkhead of the given resource, with
+     * up to {@code poolSize} objects handled at the same time. The handler queues at most {@code queueCapacity}
+     * tasks, when it is full the {@code overflowPolicy} applies. The rate limit of the retries is shared by all
+     * handlers of the resource.
+     *
+     * @param deadLetterHandler receives the events which failed after the last retry, {@code null} to log them
+     */
+    WorkQueue workQueue(InformerContext context, Class<?> resource, DeadLetterHandler deadLetterHandler) {
+        InformerConfiguration cfg = context.getCfg();
+        String name = name(context, resource);
+        int poolSize = cfg.getPoolSize();
+        int queueCapacity = cfg.getQueueCapacity() <= 0 ? Integer.MAX_VALUE : cfg.getQueueCapacity();
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(name, key -> createBulkhead(key, poolSize));
+        return workQueue(
+                context, resource, bulkhead, poolSize, queueCapacity, cfg.getOverflowPolicy(), deadLetterHandler);
+    }
+
+    /**
+     * Returns a {@link WorkQueue} for the {@link io.k8swatcher.annotation.Reconcile} methods of one handler. All
+     * handlers of the resource share a pool of {@code maxConcurrent} threads, so at most that many keys are
+     * reconciled at the same time. The queue holds at most one task per key and method, {@code queueCapacity} does
+     * not apply: dropping the task of a key would leave it unreconciled until its next event.
+     */
+    WorkQueue reconcileQueue(
+            InformerContext context, Class<?> resource, int maxConcurrent, DeadLetterHandler deadLetterHandler) {
+        Bulkhead bulkhead = bulkheads.computeIfAbsent(
+                name(context, resource) + "-reconcile", key -> createBulkhead(key, maxConcurrent));
+        return workQueue(
+                context,
+                resource,
+                bulkhead,
+                maxConcurrent,
+                Integer.MAX_VALUE,
+                OverflowPolicy.BLOCK,
+                deadLetterHandler);
+    }
+
+    private WorkQueue workQueue(
+            InformerContext context,
+            Class<?> resource,
+            Bulkhead bulkhead,
+            int workers,
+            int queueCapacity,
+            OverflowPolicy overflowPolicy,
+            DeadLetterHandler deadLetterHandler) {
+        InformerConfiguration cfg = context.getCfg();
+        TokenBucket rateLimiter = retryRateLimiters.computeIfAbsent(
+                name(context, resource), key -> new TokenBucket(cfg.getRetryRateLimit(), cfg.getRetryBurst()));
+        RetryPolicy retryPolicy = new RetryPolicy(
+                cfg.getMaxRetries(), cfg.getRetryBaseDelayMs(), cfg.getRetryMaxDelayMs(), rateLimiter);
+        return new WorkQueue(
+                bulkhead.executor(),
+                workers,
+                queueCapacity,
+                overflowPolicy,
+                timers,
+                retryPolicy,
+                deadLetterHandler,
+                bulkhead.laneMetrics(),
+                WorkQueueMetrics.register(metrics, name(context, resource)));
+    }
+
+    /**
+     * Returns the counter {@code dispatch.<bean>-<Resource>.<counter>} of the given resource.
+     */
+    LongAdder counter(InformerContext context, Class<?> resource, String counter) {
+        return metrics.counter("dispatch." + name(context, resource) + "." + counter);
+    }
+
+    /**
+     * Returns the counter {@code cache.<bean>-<Resource>.<counter>} of the given resource.
+     */
+    LongAdder cacheCounter(InformerContext context, Class<?> resource, String counter) {
+        return metrics.counter("cache." + name(context, resource) + "." + counter);
+    }
+
+    public void shutdown() {
+        log.info("Stopping event dispatcher");
+        // waiting retries and requeues are dropped, they would keep the shutdown waiting for their delay
+        timers.stop();
+        // the lists of streaming watches are retried until they succeed, they would keep the shutdown waiting
+        streamScheduler.shutdownNow();
+        // pending batch windows still run after shutdown and hand their batches to the pools stopped below
+        batchScheduler.shutdown();
+        try {
+            if (!batchScheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                batchScheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            batchScheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        bulkheads.values().forEach(bulkhead -> bulkhead.service().shutdown());
+        bulkheads.forEach((name, bulkhead) -> {
+            try {
+                if (!bulkhead.service().awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Handlers of {} did not finish within {}s", name, SHUTDOWN_TIMEOUT_SECONDS);
+                    bulkhead.service().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                bulkhead.service().shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+        bulkheads.clear();
+        retryRateLimiters.clear();
+    }
+
+    private static String name(InformerContext context, Class<?> resource) {
+        return context.getBeanName() + "-" + resource.getSimpleName();
+    }
+
+    private Bulkhead createBulkhead(String name, int poolSize) {
+        log.debug("Creating dispatcher pool {} with {} threads", name, poolSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("k8swatcher-" + name + "-"));
+        executor.allowCoreThreadTimeOut(true);
+        return new Bulkhead(executor, executor, LaneMetrics.register(metrics, name));
+    }
+
+    /**
+     * Starts a virtual thread per task. At most {@code maxConcurrency} tasks of the bulkhead run at the same time,
+     * the others park on the semaphore without holding a platform thread.
+     */
+    private Bulkhead createVirtualBulkhead(String name, int maxConcurrency) {
+        log.debug("Creating virtual thread dispatcher {} with max concurrency {}", name, maxConcurrency);
+        ThreadFactory threadFactory =
+                new VirtualThreadTaskExecutor("k8swatcher-" + name + "-").getVirtualThreadFactory();
+        ExecutorService service;
+        try {
+            service = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor for " + name, e);
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Executor executor = task -> service.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+        return new Bulkhead(service, executor, LaneMetrics.register(metrics, name));
+    }
+
+    private static Method findNewThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private record Bulkhead(ExecutorService service, Executor executor, LaneMetrics laneMetrics) {}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.Watch;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * The {@link Watch#filter()} of a method, resolved once at startup. It is evaluated on the informer thread, so
+ * rejected events are never queued, the bean is not looked up and the method is not called.
+ */
+@Slf4j
+final class EventFilter {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, EventFilter.class.getClassLoader()));
+
+    private final String filter;
+    private final Predicate<Object> predicate;
+    private final LongAdder accepted;
+    private final LongAdder rejected;
+
+    private EventFilter(String filter, Predicate<Object> predicate, LongAdder accepted, LongAdder rejected) {
+        this.filter = filter;
+        this.predicate = predicate;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Returns the filter of the method, {@code null} if it has none. A filter naming a {@link Predicate} bean uses
+     * that bean, any other filter is parsed as a SpEL expression with the resource as root object.
+     *
+     * @param counters creates the counter with the given name for this method
+     */
+    @SuppressWarnings("unchecked")
+    static EventFilter of(Method method, ApplicationContext ctx, Function<String, LongAdder> counters) {
+        String filter = method.getAnnotation(Watch.class).filter();
+        if (filter.isBlank()) {
+            return null;
+        }
+        String name = "filter." + metricName(method);
+        LongAdder accepted = counters.apply(name + ".accepted");
+        LongAdder rejected = counters.apply(name + ".rejected");
+        if (ctx.containsBean(filter) && ctx.isTypeMatch(filter, Predicate.class)) {
+            return new EventFilter(filter, ctx.getBean(filter, Predicate.class), accepted, rejected);
+        }
+        Expression expression = PARSER.parseExpression(filter);
+        StandardEvaluationContext evaluationContext = new StandardEvaluationContext();
+        evaluationContext.setBeanResolver(new BeanFactoryResolver(ctx));
+        return new EventFilter(filter, obj -> evaluate(expression, evaluationContext, obj), accepted, rejected);
+    }
+
+    boolean test(Object obj) {
+        boolean accept;
+        try {
+            accept = predicate.test(obj);
+        } catch (EvaluationException e) {
+            log.warn("Filter {} could not be evaluated, the event is skipped: {}", filter, e.getMessage());
+            accept = false;
+        } catch (RuntimeException e) {
+            log.warn("Filter {} failed, the event is skipped", filter, e);
+            accept = false;
+        }
+        (accept ? accepted : rejected).increment();
+        return accept;
+    }
+
+    /**
+     * The declaring class and signature of the method, e.g. {@code PodWatcher.onAdd(Pod)}, so overloaded methods and
+     * beans sharing an informer count separately.
+     */
+    static String metricName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                + Arrays.stream(method.getParameterTypes())
+                        .map(Class::getSimpleName)
+                        .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    // the evaluation context is only read, so it is shared by all informer threads
+    private static boolean evaluate(Expression expression, EvaluationContext evaluationContext, Object obj) {
+        return Boolean.TRUE.equals(expression.getValue(evaluationContext, obj, Boolean.class));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reduces resources to the {@code fields} of their informer, like {@code status.phase} or {@code metadata.labels}.
+ * Paths use the JSON names of the fields, a path ending at an object keeps the whole object and paths through lists
+ * apply to every element. The other fields are set to {@code null} in place, so the handlers still receive the typed
+ * resource. The apiVersion, kind, name, namespace, uid, resourceVersion and generation are always kept, the informer
+ * and the change filters need them.
+ */
+@SuppressWarnings("unchecked")
+final class FieldProjection {
+
+    static final List<String> REQUIRED_FIELDS = List.of(
+            "apiVersion",
+            "kind",
+            "metadata.name",
+            "metadata.namespace",
+            "metadata.uid",
+            "metadata.resourceVersion",
+            "metadata.generation");
+
+    /**
+     * The non-static, non-primitive fields of a class by their JSON name.
+     */
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            Map<String, Field> fields = new LinkedHashMap<>();
+            ReflectionUtils.doWithFields(
+                    type,
+                    field -> {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.putIfAbsent(jsonName(field), field);
+                    },
+                    field -> !Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive());
+            return fields;
+        }
+    };
+
+    private final Node root = new Node();
+
+    FieldProjection(Collection<String> fields) {
+        REQUIRED_FIELDS.forEach(this::add);
+        fields.forEach(this::add);
+    }
+
+    private void add(String path) {
+        Node node = root;
+        for (String name : path.split("\\.")) {
+            if (node.all) {
+                // a shorter path keeps the whole object already
+                return;
+            }
+            node = node.children.computeIfAbsent(name, key -> new Node());
+        }
+        node.all = true;
+        node.children.clear();
+    }
+
+    <T> T project(T obj) {
+        project(obj, root);
+        return obj;
+    }
+
+    /**
+     * Projects the value in place, except maps, which are replaced by a projected copy as they may be immutable.
+     */
+    private static Object project(Object value, Node node) {
+        if (value == null || node.all || isScalar(value)) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> projected = new LinkedHashMap<>();
+            map.forEach((key, entry) -> {
+                Node child = node.children.get(String.valueOf(key));
+                if (child != null) {
+                    projected.put(key, project(entry, child));
+                }
+            });
+            return projected;
+        }
+        if (value instanceof List<?> list) {
+            for (ListIterator<Object> iterator = (ListIterator<Object>) list.listIterator(); iterator.hasNext(); ) {
+                Object element = iterator.next();
+                Object projected = project(element, node);
+                if (projected != element) {
+                    iterator.set(projected);
+                }
+            }
+            return list;
+        }
+        for (Map.Entry<String, Field> entry : FIELDS.get(value.getClass()).entrySet()) {
+            Field field = entry.getValue();
+            Object fieldValue = ReflectionUtils.getField(field, value);
+            if (fieldValue == null) {
+                continue;
+            }
+            if (fieldValue instanceof Map<?, ?> additionalProperties && entry.getKey().equals("additionalProperties")) {
+                // unknown fields are collected here, the accessors of the models expect the map to exist
+                Map<String, Object> projected = (Map<String, Object>) project(additionalProperties, node);
+                additionalProperties.clear();
+                ((Map<String, Object>) additionalProperties).putAll(projected);
+                continue;
+            }
+            Node child = node.children.get(entry.getKey());
+            Object projected = child == null ? null : project(fieldValue, child);
+            if (projected != fieldValue) {
+                ReflectionUtils.setField(field, value, projected);
+            }
+        }
+        return value;
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Enum<?>;
+    }
+
+    static String jsonName(Field field) {
+        JsonProperty property = field.getAnnotation(JsonProperty.class);
+        return property == null || property.value().isEmpty() ? field.getName() : property.value();
+    }
+
+    private static final class Node {
+
+        /**
+         * Whether the whole value is kept, otherwise only the children.
+         */
+        private boolean all;
+
+        private final Map<String, Node> children = new HashMap<>();
+    }
+}
@@ -15,83 +15,225 @@
  */
 package io.k8swatcher.annotation.processor;
 
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
-import io.fabric8.kubernetes.client.utils.internal.SerialExecutor;
+import io.k8swatcher.annotation.DispatchMode;
 import io.k8swatcher.annotation.EventType;
 import io.k8swatcher.annotation.Watch;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationContext;
-import org.springframework.util.ReflectionUtils;
 
 @Slf4j
 @SuppressWarnings("rawtypes")
 class IndexInformerResHandler implements ResourceEventHandler {
 
-    private final ApplicationContext ctx;
-    private final Class<?> beanClass;
-    private Map<EventType, List<Method>> methods;
-    private SerialExecutor executor;
-
-    public IndexInformerResHandler(ApplicationContext ctx, List<Method> watchMethods, Class<?> beanClass) {
-        this.ctx = ctx;
-        this.beanClass = beanClass;
-        this.methods = watchMethods.stream().collect(Collectors.groupingBy(method -> method.getAnnotation(Watch.class)
-                .event()));
-        this.executor = new SerialExecutor(Executors.newSingleThreadExecutor());
+    private static final WatchTarget[] NO_TARGETS = new WatchTarget[0];
+
+    private final Supplier<?> beanSupplier;
+    private final WatchTarget[] addTargets;
+    private final WatchTarget[] updateTargets;
+    private final DeleteTarget[] deleteTargets;
+    private final WatchTarget[] resyncTargets;
+    private final EventBatcher[] addBatchers;
+    private final EventBatcher[] updateBatchers;
+    private final EventBatcher[] deleteBatchers;
+    private final EventBatcher[] resyncBatchers;
+    private final LongAdder suppressedResyncs;
+
+    /**
+     * @param executors resolves the executor for the {@link DispatchMode} declared on a {@link Watch} method
+     * @param batchScheduler flushes the batches of methods with a {@link Watch#batchSize()}
+     * @param suppressedResyncs counts the deliveries with an unchanged resourceVersion no RESYNC method accepted
+     * @param filters resolves the {@link EventFilter} of a {@link Watch} method, {@code null} if it has none
+     */
+    public IndexInformerResHandler(
+            Supplier<?> beanSupplier,
+            List<Method> watchMethods,
+            Function<DispatchMode, DispatchExecutor> executors,
+            ScheduledExecutorService batchScheduler,
+            LongAdder suppressedResyncs,
+            Function<Method, EventFilter> filters) {
+        this.beanSupplier = beanSupplier;
+        this.suppressedResyncs = suppressedResyncs;
+        Map<Boolean, Map<EventType, List<WatchTarget>>> targetsByBatch = watchMethods.stream()
+                .map(method -> new WatchTarget(
+                        WatchMethodInvoker.of(method),
+                        executors.apply(method.getAnnotation(Watch.class).dispatchMode()),
+                        ChangeFilter.of(method),
+                        filters.apply(method)))
+                .collect(Collectors.partitioningBy(
+                        target -> target.invoker().isBatch(),
+                        Collectors.groupingBy(
+                                target -> target.invoker().getEvent(),
+                                () -> new EnumMap<>(EventType.class),
+                                Collectors.toList())));
+        Map<EventType, List<WatchTarget>> targets = targetsByBatch.get(false);
+        this.addTargets = toArray(targets.get(EventType.ADD));
+        this.updateTargets = toArray(targets.get(EventType.UPDATE));
+        this.deleteTargets = deleteTargets(targets);
+        this.resyncTargets = toArray(targets.get(EventType.RESYNC));
+        Map<EventType, List<WatchTarget>> batchTargets = targetsByBatch.get(true);
+        this.addBatchers = batchers(batchTargets.get(EventType.ADD), batchScheduler);
+        this.updateBatchers = batchers(batchTargets.get(EventType.UPDATE), batchScheduler);
+        this.deleteBatchers = batchers(batchTargets.get(EventType.DELETE), batchScheduler);
+        this.resyncBatchers = batchers(batchTargets.get(EventType.RESYNC), batchScheduler);
+    }
+
+    /**
+     * Whether any method takes resyncs, handlers without one are registered without resync period.
+     */
+    boolean hasResyncMethods() {
+        return resyncTargets.length > 0 || resyncBatchers.length > 0;
     }
 
     @Override
     public void onAdd(Object obj) {
-        List<Method> addMethods = methods.get(EventType.ADD);
-        if (addMethods != null) {
-            addMethods.forEach(watchMethod -> executor.execute(() -> {
-                try {
-                    Object instance = ctx.getBean(beanClass);
-                    ReflectionUtils.invokeMethod(watchMethod, instance, obj);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }));
+        for (WatchTarget target : addTargets) {
+            if (!target.accepts(obj)) {
+                continue;
+            }
+            target.executor().execute(new DispatchTask(target.invoker(), beanSupplier, null, obj, false));
+        }
+        for (EventBatcher batcher : addBatchers) {
+            batcher.add(obj);
         }
     }
 
+    /**
+     * Resyncs redeliver every cached object as an UPDATE with an unchanged resourceVersion. They are dropped here on
+     * the informer thread or passed to the RESYNC methods, so they never reach the UPDATE methods.
+     */
     @Override
     public void onUpdate(Object oldObj, Object newObj) {
-        List<Method> updateMethods = methods.get(EventType.UPDATE);
-        if (updateMethods != null) {
-            updateMethods.forEach(watchMethod -> executor.execute(() -> {
-                try {
-                    Object instance = ctx.getBean(beanClass);
-                    ReflectionUtils.invokeMethod(watchMethod, instance, oldObj, newObj);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
+        if (isResync(oldObj, newObj)) {
+            boolean dispatched = false;
+            for (WatchTarget target : resyncTargets) {
+                if (!target.accepts(newObj)) {
+                    continue;
                 }
-            }));
+                target.executor().execute(new DispatchTask(target.invoker(), beanSupplier, null, newObj, false));
+                dispatched = true;
+            }
+            for (EventBatcher batcher : resyncBatchers) {
+                dispatched |= batcher.add(newObj);
+            }
+            if (!dispatched) {
+                suppressedResyncs.increment();
+            }
+            return;
+        }
+        for (WatchTarget target : updateTargets) {
+            if (target.accepts(oldObj, newObj)) {
+                target.executor().execute(new DispatchTask(target.invoker(), beanSupplier, oldObj, newObj, false));
+            }
+        }
+        for (EventBatcher batcher : updateBatchers) {
+            batcher.update(oldObj, newObj);
         }
     }
 
     @Override
     public void onDelete(Object obj, boolean deletedFinalStateUnknown) {
-        List<Method> deleteMethods = methods.get(EventType.DELETE);
-        if (deleteMethods != null) {
-            deleteMethods.forEach(watchMethod -> executor.execute(() -> {
-                try {
-                    Object instance = ctx.getBean(beanClass);
-                    int parameterCount = watchMethod.getParameterCount();
-                    if (parameterCount == 1) {
-                        ReflectionUtils.invokeMethod(watchMethod, instance, obj);
-                    } else {
-                        ReflectionUtils.invokeMethod(watchMethod, instance, obj, deletedFinalStateUnknown);
-                    }
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
+        for (DeleteTarget target : deleteTargets) {
+            List<DispatchTask> tasks = new ArrayList<>(target.targets().length);
+            for (WatchTarget deleteTarget : target.targets()) {
+                if (deleteTarget.accepts(obj)) {
+                    tasks.add(new DispatchTask(
+                            deleteTarget.invoker(), beanSupplier, null, obj, deletedFinalStateUnknown));
                 }
-            }));
+            }
+            if (!tasks.isEmpty() || target.executor().isCoalescing()) {
+                target.executor().delete(obj, tasks);
+            }
+        }
+        for (EventBatcher batcher : deleteBatchers) {
+            batcher.delete(obj, deletedFinalStateUnknown);
         }
     }
+
+    // the informer passes the cached instance as old and new object on resync
+    static boolean isResync(Object oldObj, Object newObj) {
+        if (oldObj == newObj) {
+            return true;
+        }
+        if (!(oldObj instanceof HasMetadata oldResource) || !(newObj instanceof HasMetadata newResource)) {
+            return false;
+        }
+        ObjectMeta oldMetadata = oldResource.getMetadata();
+        ObjectMeta newMetadata = newResource.getMetadata();
+        return oldMetadata != null
+                && newMetadata != null
+                && oldMetadata.getResourceVersion() != null
+                && oldMetadata.getResourceVersion().equals(newMetadata.getResourceVersion());
+    }
+
+    private static WatchTarget[] toArray(List<WatchTarget> targets) {
+        return targets == null ? NO_TARGETS : targets.toArray(WatchTarget[]::new);
+    }
+
+    private EventBatcher[] batchers(List<WatchTarget> targets, ScheduledExecutorService batchScheduler) {
+        if (targets == null) {
+            return new EventBatcher[0];
+        }
+        return targets.stream()
+                .map(target -> new EventBatcher(
+                        target.invoker(),
+                        beanSupplier,
+                        target.executor(),
+                        batchScheduler,
+                        target.changeFilter(),
+                        target.eventFilter()))
+                .toArray(EventBatcher[]::new);
+    }
+
+    /**
+     * Groups the DELETE methods by executor. Coalescing executors are notified of every delete even without
+     * DELETE methods, so they can discard the queued events of the object.
+     */
+    private static DeleteTarget[] deleteTargets(Map<EventType, List<WatchTarget>> targets) {
+        Map<DispatchExecutor, List<WatchTarget>> deleteTargets = new LinkedHashMap<>();
+        targets.values().stream()
+                .flatMap(List::stream)
+                .filter(target -> target.executor().isCoalescing())
+                .forEach(target -> deleteTargets.computeIfAbsent(target.executor(), executor -> new ArrayList<>()));
+        targets.getOrDefault(EventType.DELETE, List.of())
+                .forEach(target -> deleteTargets
+                        .computeIfAbsent(target.executor(), executor -> new ArrayList<>())
+                        .add(target));
+        return deleteTargets.entrySet().stream()
+                .map(entry -> new DeleteTarget(entry.getKey(), toArray(entry.getValue())))
+                .toArray(DeleteTarget[]::new);
+    }
+
+    /**
+     * @param changeFilter the {@link ChangeFilter} of an UPDATE method, {@code null} if it accepts every UPDATE
+     * @param eventFilter the {@link EventFilter} of the method, {@code null} if it accepts every event
+     */
+    private record WatchTarget(
+            WatchMethodInvoker invoker,
+            DispatchExecutor executor,
+            ChangeFilter changeFilter,
+            EventFilter eventFilter) {
+
+        boolean accepts(Object obj) {
+            return eventFilter == null || eventFilter.test(obj);
+        }
+
+        boolean accepts(Object oldObj, Object newObj) {
+            return (changeFilter == null || changeFilter.test(oldObj, newObj)) && accepts(newObj);
+        }
+    }
+
+    private record DeleteTarget(DispatchExecutor executor, WatchTarget[] targets) {}
 }
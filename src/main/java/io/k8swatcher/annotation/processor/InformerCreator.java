@@ -17,18 +17,35 @@ package io.k8swatcher.annotation.processor;
 
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
-import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.fabric8.kubernetes.client.informers.cache.BasicItemStore;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.k8swatcher.annotation.CacheStore;
+import io.k8swatcher.annotation.DeadLetterHandler;
+import io.k8swatcher.annotation.DispatchMode;
+import io.k8swatcher.annotation.EventType;
 import io.k8swatcher.annotation.Informer;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.Reconcile;
 import io.k8swatcher.annotation.Watch;
+import io.k8swatcher.annotation.cfg.FieldSelector;
 import io.k8swatcher.annotation.cfg.InformerConfiguration;
 import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
 import io.k8swatcher.annotation.cfg.InformerContext;
+import io.k8swatcher.annotation.cfg.LabelSelector;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,110 +59,618 @@ import org.springframework.stereotype.Component;
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class InformerCreator {
 
+    private static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    /**
+     * Namespace of the informers which watch all namespaces, not a valid namespace name.
+     */
+    private static final String ANY_NAMESPACE = "*";
+
     private ApplicationContext ctx;
     private InformerConfigurationProperty cfg;
     private KubeClientFactory kubeClientFactory;
+    private EventDispatcher eventDispatcher;
 
+    /**
+     * The informers of all beans. Beans which watch the same objects share the informer, and with it the watch
+     * connection and the cache, each bean is added as another handler.
+     */
+    private final InformerRegistry informers = new InformerRegistry();
+
+    /**
+     * Creates one informer per client, resource, namespace, selectors and resync period. The namespaces selected by
+     * {@code nsLabels} are tracked by a namespace informer: the informers of a namespace which starts to match are
+     * started when it appears, the ones of a namespace which no longer matches are closed.
+     */
     List<SharedIndexInformer> createInformers() {
-        List<InformerContext> informerContextList = getInformerContextList();
-        List<SharedIndexInformer> informerList = new ArrayList<>();
+        getInformerContextList().forEach(this::watch);
+        return informers.informers();
+    }
+
+    /**
+     * The streaming watches of the beans with {@code streaming}, created by {@link #createInformers()}.
+     */
+    List<StreamingWatch> streams() {
+        return informers.streams();
+    }
+
+    /**
+     * Closes the informers created for namespaces which appeared after startup and the streaming watches.
+     */
+    void closeInformers() {
+        informers.close();
+    }
+
+    private void watch(InformerContext context) {
+        Method[] methods = context.getBeanClass().getMethods();
+        Map<? extends Class<? extends KubernetesResource>, List<Method>> watchMethods = Arrays.stream(methods)
+                .filter(InformerCreator::isHandlerMethod)
+                .collect(Collectors.groupingBy(InformerCreator::resourceOf));
+        InformerConfiguration informerConfiguration = context.getCfg();
+        Set<String> nsNames = informerConfiguration.getNsNames();
+        boolean allNamespaces = nsNames.isEmpty()
+                && informerConfiguration.getNsLabels().isEmpty()
+                && informerConfiguration.getNsLabelSelectors().isEmpty();
+        Set<String> namespaces = ConcurrentHashMap.newKeySet();
+        if (!allNamespaces) {
+            namespaces.addAll(getNamespaces(context.getClient(), informerConfiguration));
+        }
+        int clusterWatchThreshold = informerConfiguration.getClusterWatchThreshold();
+        boolean clusterWide = allNamespaces
+                || nsNames.isEmpty() && clusterWatchThreshold > 0 && namespaces.size() >= clusterWatchThreshold;
+
+        NamespaceWatch watch =
+                new NamespaceWatch(context, watchMethods, clusterWide && !allNamespaces ? namespaces : null);
+        if (clusterWide) {
+            watch.add(ANY_NAMESPACE, false);
+        } else {
+            namespaces.forEach(nsName -> watch.add(nsName, false));
+        }
+        if (!allNamespaces && nsNames.isEmpty()) {
+            // the filter of a cluster-wide watch reads the tracked namespaces, nothing to start or close
+            trackNamespaces(
+                    context,
+                    clusterWide
+                            ? new NamespaceTracker(namespaces, nsName -> {}, nsName -> {})
+                            : new NamespaceTracker(namespaces, nsName -> watch.add(nsName, true), watch::remove));
+        }
+
+        if (allNamespaces) {
+            log.info("watching all namespaces");
+        } else if (namespaces.isEmpty()) {
+            log.warn(
+                    "No namespaces found with labels {} {}, waiting for matching namespaces.",
+                    informerConfiguration.getNsLabels(),
+                    informerConfiguration.getNsLabelSelectors());
+        } else if (clusterWide) {
+            log.info("watching namespaces {} with one cluster-wide watch", namespaces);
+        } else {
+            log.info("watching namespaces {}", namespaces);
+        }
+    }
+
+    /**
+     * Registers the tracker with the namespace informer of the {@code nsLabels} of the bean, beans with the same
+     * labels share it.
+     */
+    private void trackNamespaces(InformerContext context, NamespaceTracker tracker) {
+        InformerConfiguration informerConfiguration = context.getCfg();
+        Map<String, String> nsLabels = informerConfiguration.getNsLabels();
+        List<LabelSelector> nsLabelSelectors = informerConfiguration.getNsLabelSelectors().stream()
+                .map(LabelSelector::parse)
+                .toList();
+        InformerKey key = new InformerKey(
+                context.getClient(),
+                Namespace.class,
+                ANY_NAMESPACE,
+                nsLabels,
+                Set.copyOf(nsLabelSelectors),
+                Set.of(),
+                0L,
+                CacheSpec.NONE);
+        InformerRegistry.Lease lease = informers.acquire(
+                key,
+                () -> withLabelSelectors(context.getClient().namespaces().withLabels(nsLabels), nsLabelSelectors)
+                        .runnableInformer(0L));
+        if (lease != null) {
+            lease.informer().addEventHandler(tracker);
+        }
+    }
 
-        informerContextList.forEach(context -> {
-            Class<?> beanClass = context.getBeanClass();
-            Method[] methods = beanClass.getMethods();
-            Map<? extends Class<? extends KubernetesResource>, List<Method>> watchMethods = Arrays.stream(methods)
-                    .filter(method -> method.isAnnotationPresent(Watch.class))
-                    .collect(Collectors.groupingBy(
-                            method -> method.getAnnotation(Watch.class).resource()));
+    /**
+     * The informers of one bean, by the namespace they watch.
+     */
+    private class NamespaceWatch {
 
+        private final InformerContext context;
+        private final Map<? extends Class<? extends KubernetesResource>, List<Method>> watchMethods;
+        private final Set<String> namespaceFilter;
+        private final Supplier<Object> beanSupplier;
+        private final Map<Class<?>, Map<Method, EventFilter>> filters = new HashMap<>();
+        private final Map<String, List<Registration>> registrations = new ConcurrentHashMap<>();
+        private final Map<String, List<StreamingWatch>> streams = new ConcurrentHashMap<>();
+        private final Map<String, String> resLabels;
+        private final List<LabelSelector> resLabelSelectors;
+        private final List<FieldSelector> fieldSelectors;
+        private final CacheSpec cacheSpec;
+
+        /**
+         * @param namespaceFilter the namespaces the handlers accept events of, {@code null} for all
+         */
+        private NamespaceWatch(
+                InformerContext context,
+                Map<? extends Class<? extends KubernetesResource>, List<Method>> watchMethods,
+                Set<String> namespaceFilter) {
+            this.context = context;
+            this.watchMethods = watchMethods;
+            this.namespaceFilter = namespaceFilter;
+            this.beanSupplier = beanSupplier(context.getBeanName(), context.getBean());
+            watchMethods.forEach(
+                    (resource, methods) -> filters.put(resource, eventFilters(context, resource, methods)));
             InformerConfiguration informerConfiguration = context.getCfg();
+            this.resLabels = informerConfiguration.getResLabels();
+            this.resLabelSelectors = informerConfiguration.getResLabelSelectors().stream()
+                    .map(LabelSelector::parse)
+                    .toList();
+            this.fieldSelectors = informerConfiguration.getFieldSelectors().stream()
+                    .map(FieldSelector::parse)
+                    .toList();
+            CacheStore cacheStore = informerConfiguration.getCacheStore();
+            this.cacheSpec = new CacheSpec(
+                    informerConfiguration.getMetadataOnly(),
+                    Set.copyOf(informerConfiguration.getFields()),
+                    informerConfiguration.getStripManagedFields(),
+                    Set.copyOf(informerConfiguration.getStripAnnotations()),
+                    List.copyOf(informerConfiguration.getTransforms()),
+                    cacheStore,
+                    cacheStore == CacheStore.OBJECTS ? 0 : informerConfiguration.getHotCacheSize());
+        }
+
+        /**
+         * Returns the store of a new informer of the resource, which keeps the objects as configured by
+         * {@code cacheStore} and prunes them first if the bean has any transform.
+         */
+        private ItemStore itemStore(Class<?> resource) {
+            ItemStore store = cacheSpec.cacheStore() == CacheStore.OBJECTS
+                    ? new BasicItemStore<>(Cache::metaNamespaceKeyFunc)
+                    : new SerializedItemStore(
+                            resource,
+                            context.getClient().getKubernetesSerialization(),
+                            cacheSpec.cacheStore(),
+                            cacheSpec.hotCacheSize(),
+                            eventDispatcher.cacheCounter(context, resource, "storedBytes"));
+            return cacheSpec.hasTransform() ? new TransformingItemStore(store, cacheTransform(resource)) : store;
+        }
+
+        /**
+         * Returns the transform of the objects cached by a new informer of the resource. A shared informer keeps the
+         * transform, and with it the {@code bytesSaved} counter, of the bean which created it.
+         */
+        private CacheTransform cacheTransform(Class<?> resource) {
+            List<Consumer> transforms = cacheSpec.transforms().stream()
+                    .map(name -> ctx.getBean(name, Consumer.class))
+                    .toList();
+            return new CacheTransform(
+                    cacheSpec.metadataOnly(),
+                    cacheSpec.fields(),
+                    cacheSpec.stripManagedFields(),
+                    cacheSpec.stripAnnotations(),
+                    transforms,
+                    eventDispatcher.cacheCounter(context, resource, "bytesSaved"));
+        }
+
+        /**
+         * Adds the handlers of the bean to the informers of the namespace.
+         *
+         * @param start whether informers created for the namespace are started, after startup
+         */
+        void add(String nsName, boolean start) {
+            if (context.getCfg().getStreaming()) {
+                addStreams(nsName, start);
+                return;
+            }
             KubernetesClient client = context.getClient();
-            Set<String> namespaces = getNamespaces(client, informerConfiguration);
-            Map<String, String> resLabels = informerConfiguration.getResLabels();
-
-            watchMethods.keySet().forEach(resource -> {
-                List<SharedIndexInformer> informers = namespaces.stream()
-                        .map(nsName -> (NonNamespaceOperation)
-                                client.resources((Class) resource).inNamespace(nsName))
-                        .map(nsOperation -> createSharedIndexInformer(
-                                nsOperation, resLabels, informerConfiguration.getResyncPeriod()))
-                        .map(sharedIndexInformer -> sharedIndexInformer.addEventHandlerWithResyncPeriod(
-                                new IndexInformerResHandler(ctx, watchMethods.get(resource), beanClass),
-                                informerConfiguration.getResyncPeriod()))
+            long resyncPeriod = context.getCfg().getResyncPeriod();
+            List<Registration> added = new ArrayList<>();
+            watchMethods.forEach((resource, methods) -> {
+                InformerKey key = new InformerKey(
+                        client,
+                        resource,
+                        nsName,
+                        resLabels,
+                        Set.copyOf(resLabelSelectors),
+                        Set.copyOf(fieldSelectors),
+                        resyncPeriod,
+                        cacheSpec);
+                InformerRegistry.Lease lease = informers.acquire(key, () -> {
+                    SharedIndexInformer informer = createSharedIndexInformer(
+                            inNamespace(client, resource, nsName),
+                            resLabels,
+                            resLabelSelectors,
+                            fieldSelectors,
+                            resyncPeriod);
+                    if (!cacheSpec.equals(CacheSpec.NONE)) {
+                        informer.itemStore(itemStore(resource));
+                    }
+                    return informer;
+                });
+                if (lease == null) {
+                    return;
+                }
+                if (!lease.created()) {
+                    log.debug(
+                            "Sharing informer of {} in {} with bean {}",
+                            resource.getSimpleName(),
+                            nsName,
+                            context.getBeanName());
+                }
+                SharedIndexInformer informer = lease.informer();
+                List<ResourceEventHandler> handlers = addHandlers(
+                        informer,
+                        context,
+                        beanSupplier,
+                        resource,
+                        methods,
+                        filters.get(resource),
+                        nsName.equals(ANY_NAMESPACE),
+                        namespaceFilter);
+                added.add(new Registration(key, informer, handlers));
+                if (start && lease.created()) {
+                    informers.start(informer);
+                }
+            });
+            if (start) {
+                log.info("watching namespace {} for bean {}", nsName, context.getBeanName());
+            }
+            registrations.put(nsName, added);
+        }
+
+        /**
+         * Creates a streaming watch per resource of the namespace, the handlers get the events without a cache.
+         * {@link Reconcile} methods read the cache and are rejected by the validator for streaming beans, they are
+         * skipped here.
+         */
+        private void addStreams(String nsName, boolean start) {
+            List<StreamingWatch> added = new ArrayList<>();
+            watchMethods.forEach((resource, handlerMethods) -> {
+                List<Method> methods = handlerMethods.stream()
+                        .filter(method -> method.isAnnotationPresent(Watch.class))
                         .toList();
-                informerList.addAll(informers);
+                if (methods.isEmpty()) {
+                    return;
+                }
+                IndexInformerResHandler handler = createHandler(
+                        context, beanSupplier, resource, methods, filters.get(resource), nsName.equals(ANY_NAMESPACE));
+                boolean keepObjects = methods.stream()
+                        .anyMatch(method -> method.getAnnotation(Watch.class).event() == EventType.UPDATE);
+                StreamingWatch stream = new StreamingWatch(
+                        context.getBeanName() + "-" + resource.getSimpleName() + "-" + nsName,
+                        resource,
+                        withSelectors(
+                                inNamespace(context.getClient(), resource, nsName),
+                                resLabels,
+                                resLabelSelectors,
+                                fieldSelectors),
+                        filtered(handler, namespaceFilter),
+                        keepObjects,
+                        cacheSpec.hasTransform() ? cacheTransform(resource) : UnaryOperator.identity(),
+                        eventDispatcher.counter(context, resource, "relists"),
+                        eventDispatcher.getStreamScheduler());
+                if (informers.addStream(stream, start)) {
+                    added.add(stream);
+                }
             });
-            if (namespaces.isEmpty()) {
-                log.error("No namespaces found with labels {}.", informerConfiguration.getNsLabels());
-            } else {
-                log.info("watching namespaces {}", namespaces);
+            if (start) {
+                log.info("streaming namespace {} for bean {}", nsName, context.getBeanName());
+            }
+            streams.put(nsName, added);
+        }
+
+        /**
+         * Removes the handlers of the bean from the informers of the namespace, informers no other bean uses are
+         * closed.
+         */
+        void remove(String nsName) {
+            List<StreamingWatch> removedStreams = streams.remove(nsName);
+            if (removedStreams != null) {
+                log.info("stopped streaming namespace {} for bean {}", nsName, context.getBeanName());
+                removedStreams.forEach(informers::removeStream);
+                return;
             }
-        });
-        return informerList;
+            List<Registration> removed = registrations.remove(nsName);
+            if (removed == null) {
+                return;
+            }
+            log.info("stopped watching namespace {} for bean {}", nsName, context.getBeanName());
+            for (Registration registration : removed) {
+                registration.handlers().forEach(registration.informer()::removeEventHandler);
+                informers.release(registration.key());
+            }
+        }
+    }
+
+    private record Registration(InformerKey key, SharedIndexInformer informer, List<ResourceEventHandler> handlers) {}
+
+    /**
+     * Registers the handler of the {@link Watch} methods and the handler of the {@link Reconcile} methods, if the
+     * resource has any of them.
+     *
+     * @param clusterWide whether the informer watches all namespaces
+     * @param namespaceFilter the namespaces the handlers accept events of, {@code null} for all
+     * @return the registered handlers
+     */
+    private List<ResourceEventHandler> addHandlers(
+            SharedIndexInformer informer,
+            InformerContext context,
+            Supplier<Object> beanSupplier,
+            Class<?> resource,
+            List<Method> methods,
+            Map<Method, EventFilter> filters,
+            boolean clusterWide,
+            Set<String> namespaceFilter) {
+        long resyncPeriod = context.getCfg().getResyncPeriod();
+        Map<Boolean, List<Method>> byKind =
+                methods.stream().collect(Collectors.partitioningBy(method -> method.isAnnotationPresent(Watch.class)));
+        List<Method> watchMethods = byKind.get(true);
+        List<Method> reconcileMethods = byKind.get(false);
+        List<ResourceEventHandler> handlers = new ArrayList<>(2);
+        if (!watchMethods.isEmpty()) {
+            IndexInformerResHandler handler =
+                    createHandler(context, beanSupplier, resource, watchMethods, filters, clusterWide);
+            handlers.add(filtered(handler, namespaceFilter));
+            informer.addEventHandlerWithResyncPeriod(
+                    handlers.get(handlers.size() - 1), handler.hasResyncMethods() ? resyncPeriod : 0);
+        }
+        if (!reconcileMethods.isEmpty()) {
+            int maxConcurrent = reconcileMethods.stream()
+                    .mapToInt(method -> method.getAnnotation(Reconcile.class).maxConcurrent())
+                    .max()
+                    .getAsInt();
+            ReconcileHandler handler = new ReconcileHandler(
+                    beanSupplier,
+                    reconcileMethods,
+                    eventDispatcher.reconcileQueue(context, resource, maxConcurrent, deadLetterHandler(context)),
+                    key -> informer.getStore().getByKey(key));
+            handlers.add(filtered(handler, namespaceFilter));
+            informer.addEventHandlerWithResyncPeriod(
+                    handlers.get(handlers.size() - 1), handler.hasResyncMethods() ? resyncPeriod : 0);
+        }
+        return handlers;
+    }
+
+    private static ResourceEventHandler filtered(ResourceEventHandler handler, Set<String> namespaceFilter) {
+        return namespaceFilter == null ? handler : new NamespaceFilteringHandler(handler, namespaceFilter);
+    }
+
+    private static boolean isHandlerMethod(Method method) {
+        return method.isAnnotationPresent(Watch.class) || method.isAnnotationPresent(Reconcile.class);
+    }
+
+    private static Class<? extends KubernetesResource> resourceOf(Method method) {
+        Watch watch = method.getAnnotation(Watch.class);
+        return watch != null ? watch.resource() : method.getAnnotation(Reconcile.class).resource();
+    }
+
+    private IndexInformerResHandler createHandler(
+            InformerContext context,
+            Supplier<Object> beanSupplier,
+            Class<?> resource,
+            List<Method> methods,
+            Map<Method, EventFilter> filters,
+            boolean clusterWide) {
+        Map<DispatchMode, DispatchExecutor> executors = new EnumMap<>(DispatchMode.class);
+        DispatchMode informerMode = context.getCfg().getDispatchMode();
+        return new IndexInformerResHandler(
+                beanSupplier,
+                methods,
+                mode -> executors.computeIfAbsent(
+                        mode == DispatchMode.DEFAULT ? informerMode : mode,
+                        resolved -> resolved == DispatchMode.WORK_QUEUE
+                                ? eventDispatcher.workQueue(context, resource, deadLetterHandler(context))
+                                : eventDispatcher.executor(context, resource, resolved, clusterWide)),
+                eventDispatcher.getBatchScheduler(),
+                eventDispatcher.counter(context, resource, "resyncSuppressed"),
+                filters::get);
+    }
+
+    private DeadLetterHandler deadLetterHandler(InformerContext context) {
+        String name = context.getCfg().getDeadLetterHandler();
+        return name.isEmpty() ? null : ctx.getBean(name, DeadLetterHandler.class);
+    }
+
+    /**
+     * Compiles the {@link Watch#filter()} of the methods once, the handlers of all namespaces share them.
+     */
+    private Map<Method, EventFilter> eventFilters(InformerContext context, Class<?> resource, List<Method> methods) {
+        Map<Method, EventFilter> filters = new HashMap<>();
+        for (Method method : methods) {
+            if (!method.isAnnotationPresent(Watch.class)) {
+                continue;
+            }
+            EventFilter filter =
+                    EventFilter.of(method, ctx, counter -> eventDispatcher.counter(context, resource, counter));
+            if (filter != null) {
+                filters.put(method, filter);
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * Singleton beans (including scoped proxies) are resolved once and reused for every event. Beans of any
+     * other scope are looked up by name for each event so the scope semantics are kept.
+     */
+    Supplier<Object> beanSupplier(String beanName, Object bean) {
+        if (ctx.isSingleton(beanName)) {
+            return () -> bean;
+        }
+        log.debug("Bean {} is not a singleton, it will be resolved for every event", beanName);
+        return () -> ctx.getBean(beanName);
     }
 
     private Set<String> getNamespaces(KubernetesClient client, InformerConfiguration informerConfiguration) {
         Map<String, String> nsLabels = informerConfiguration.getNsLabels();
+        List<String> nsLabelSelectors = informerConfiguration.getNsLabelSelectors();
         Set<String> nsNames = informerConfiguration.getNsNames();
         if (!nsNames.isEmpty()) {
             return nsNames;
         }
 
-        log.debug("nsLabel={}", nsLabels);
-        Function<Namespace, String> namespaceToStringName =
-                namespace -> namespace.getMetadata().getName();
-        if (nsLabels.isEmpty() && nsNames.isEmpty()) {
-            return client.namespaces().list().getItems().stream()
-                    .map(namespaceToStringName)
-                    .collect(Collectors.toSet());
-        }
-        return client.namespaces().withLabels(nsLabels).list().getItems().stream()
-                .map(namespaceToStringName)
+        log.debug("nsLabel={}, nsLabelSelectors={}", nsLabels, nsLabelSelectors);
+        FilterWatchListDeletable<Namespace, NamespaceList, Resource<Namespace>> namespaces =
+                client.namespaces().withLabels(nsLabels);
+        namespaces = withLabelSelectors(
+                namespaces, nsLabelSelectors.stream().map(LabelSelector::parse).toList());
+        return namespaces.list().getItems().stream()
+                .map(namespace -> namespace.getMetadata().getName())
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Adds set-based label requirements to the request, the API server evaluates them together with the labels.
+     */
+    private static FilterWatchListDeletable withLabelSelectors(
+            FilterWatchListDeletable operation, List<LabelSelector> labelSelectors) {
+        for (LabelSelector selector : labelSelectors) {
+            String key = selector.key();
+            String[] values = selector.values().toArray(String[]::new);
+            operation = (FilterWatchListDeletable)
+                    switch (selector.operator()) {
+                        case EQUALS -> operation.withLabel(key, values[0]);
+                        case NOT_EQUALS -> operation.withoutLabel(key, values[0]);
+                        case IN -> operation.withLabelIn(key, values);
+                        case NOT_IN -> operation.withLabelNotIn(key, values);
+                        case EXISTS -> operation.withLabel(key);
+                        case DOES_NOT_EXIST -> operation.withoutLabel(key);
+                    };
+        }
+        return operation;
+    }
+
+    private static FilterWatchListDeletable inNamespace(KubernetesClient client, Class<?> resource, String nsName) {
+        MixedOperation operation = client.resources((Class) resource);
+        return nsName.equals(ANY_NAMESPACE)
+                ? operation.inAnyNamespace()
+                : (FilterWatchListDeletable) operation.inNamespace(nsName);
+    }
+
     private SharedIndexInformer createSharedIndexInformer(
-            NonNamespaceOperation nsOperation, Map<String, String> resLabels, long resyncPeriod) {
-        log.debug("resLabels={}", resLabels);
-        if (resLabels.isEmpty()) {
-            return nsOperation.runnableInformer(resyncPeriod);
+            FilterWatchListDeletable nsOperation,
+            Map<String, String> resLabels,
+            List<LabelSelector> resLabelSelectors,
+            List<FieldSelector> fieldSelectors,
+            long resyncPeriod) {
+        log.debug(
+                "resLabels={}, resLabelSelectors={}, fieldSelectors={}", resLabels, resLabelSelectors, fieldSelectors);
+        return withSelectors(nsOperation, resLabels, resLabelSelectors, fieldSelectors).runnableInformer(resyncPeriod);
+    }
+
+    private static FilterWatchListDeletable withSelectors(
+            FilterWatchListDeletable nsOperation,
+            Map<String, String> resLabels,
+            List<LabelSelector> resLabelSelectors,
+            List<FieldSelector> fieldSelectors) {
+        if (resLabels.isEmpty() && resLabelSelectors.isEmpty() && fieldSelectors.isEmpty()) {
+            return nsOperation;
         }
 
-        return ((FilterWatchListDeletable) nsOperation.withLabels(resLabels)).runnableInformer(resyncPeriod);
+        FilterWatchListDeletable operation = nsOperation;
+        if (!resLabels.isEmpty()) {
+            operation = (FilterWatchListDeletable) operation.withLabels(resLabels);
+        }
+        operation = withLabelSelectors(operation, resLabelSelectors);
+        for (FieldSelector fieldSelector : fieldSelectors) {
+            operation = fieldSelector.negated()
+                    ? (FilterWatchListDeletable) operation.withoutField(fieldSelector.key(), fieldSelector.value())
+                    : (FilterWatchListDeletable) operation.withField(fieldSelector.key(), fieldSelector.value());
+        }
+        return operation;
+    }
+
+    /**
+     * Identifies the objects an informer lists and watches and how it caches them. The selectors are kept as sets,
+     * so beans which declare the same selectors in a different order still share the informer.
+     */
+    private record InformerKey(
+            KubernetesClient client,
+            Class<?> resource,
+            String namespace,
+            Map<String, String> resLabels,
+            Set<LabelSelector> resLabelSelectors,
+            Set<FieldSelector> fieldSelectors,
+            long resyncPeriod,
+            CacheSpec cacheSpec) {}
+
+    /**
+     * How an informer prunes the objects before it caches them, see {@link CacheTransform}.
+     */
+    private record CacheSpec(
+            boolean metadataOnly,
+            Set<String> fields,
+            boolean stripManagedFields,
+            Set<String> stripAnnotations,
+            List<String> transforms,
+            CacheStore cacheStore,
+            int hotCacheSize) {
+
+        static final CacheSpec NONE =
+                new CacheSpec(false, Set.of(), false, Set.of(), List.of(), CacheStore.OBJECTS, 0);
+
+        boolean hasTransform() {
+            return metadataOnly
+                    || !fields.isEmpty()
+                    || stripManagedFields
+                    || !stripAnnotations.isEmpty()
+                    || !transforms.isEmpty();
+        }
     }
 
     private List<InformerContext> getInformerContextList() {
         Map<String, Object> informerBeansMap = ctx.getBeansWithAnnotation(Informer.class);
-        return informerBeansMap.values().stream()
-                .filter(bean -> Arrays.stream(AopUtils.getTargetClass(bean).getMethods())
-                        .anyMatch(method -> method.isAnnotationPresent(Watch.class)))
-                .map(bean -> {
+        return informerBeansMap.entrySet().stream()
+                .filter(entry -> Arrays.stream(AopUtils.getTargetClass(entry.getValue()).getMethods())
+                        .anyMatch(InformerCreator::isHandlerMethod))
+                .map(entry -> {
+                    Object bean = entry.getValue();
                     Informer informer = AopUtils.getTargetClass(bean).getAnnotation(Informer.class);
                     Map<String, InformerConfiguration> configurationMap = cfg.getConfig();
                     InformerConfiguration informerConfiguration =
                             configurationMap.getOrDefault(informer.name(), configurationMap.get("default"));
 
-                    return createInformerContext(bean, informer, informerConfiguration);
+                    return createInformerContext(entry.getKey(), bean, informer, informerConfiguration);
                 })
                 .toList();
     }
 
     private InformerContext createInformerContext(
-            Object bean, Informer informer, InformerConfiguration informerConfiguration) {
+            String beanName, Object bean, Informer informer, InformerConfiguration informerConfiguration) {
         String clientName = informerConfiguration.getClientName();
         if (clientName.isEmpty()) {
             clientName = informer.clientName();
         }
 
         Map<String, String> nsLabels = informerConfiguration.getNsLabels();
-        if (nsLabels.isEmpty()) {
-            nsLabels = Arrays.stream(informer.nsLabels())
-                    .collect(Collectors.toMap(item -> item.split("=")[0], item -> item.split("=")[1]));
+        List<String> nsLabelSelectors = informerConfiguration.getNsLabelSelectors();
+        if (nsLabels.isEmpty() && nsLabelSelectors.isEmpty()) {
+            nsLabels = equalityLabels(informer.nsLabels());
+            nsLabelSelectors = setBasedLabels(informer.nsLabels());
         }
         Map<String, String> resLabels = informerConfiguration.getResLabels();
-        if (resLabels.isEmpty()) {
-            resLabels = Arrays.stream(informer.resLabels())
-                    .collect(Collectors.toMap(item -> item.split("=")[0], item -> item.split("=")[1]));
+        List<String> resLabelSelectors = informerConfiguration.getResLabelSelectors();
+        if (resLabels.isEmpty() && resLabelSelectors.isEmpty()) {
+            resLabels = equalityLabels(informer.resLabels());
+            resLabelSelectors = setBasedLabels(informer.resLabels());
+        }
+        List<String> fieldSelectors = informerConfiguration.getFieldSelectors();
+        if (fieldSelectors.isEmpty()) {
+            fieldSelectors = List.of(informer.fieldSelectors());
+        }
+        for (String fieldSelector : fieldSelectors) {
+            try {
+                FieldSelector.parse(fieldSelector);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(e.getMessage() + " of informer bean " + beanName, e);
+            }
         }
         Long resyncPeriod = informerConfiguration.getResyncPeriod();
         if (resyncPeriod == null) {
@@ -162,9 +687,172 @@ public class InformerCreator {
         if (nsNames.isEmpty()) {
             nsNames = Set.of(informer.nsNames());
         }
+        Boolean metadataOnly = informerConfiguration.getMetadataOnly();
+        if (metadataOnly == null) {
+            metadataOnly = informer.metadataOnly();
+        }
+        List<String> fields = informerConfiguration.getFields();
+        if (fields.isEmpty()) {
+            fields = List.of(informer.fields());
+        }
+        Boolean stripManagedFields = informerConfiguration.getStripManagedFields();
+        if (stripManagedFields == null) {
+            stripManagedFields = informer.stripManagedFields();
+        }
+        List<String> stripAnnotations = informerConfiguration.getStripAnnotations();
+        if (stripAnnotations.isEmpty()) {
+            stripAnnotations = List.of(informer.stripAnnotations());
+        }
+        List<String> transforms = informerConfiguration.getTransforms();
+        if (transforms.isEmpty()) {
+            transforms = List.of(informer.transforms());
+        }
+        CacheStore cacheStore = informerConfiguration.getCacheStore();
+        if (cacheStore == null) {
+            cacheStore = informer.cacheStore();
+        }
+        Integer hotCacheSize = informerConfiguration.getHotCacheSize();
+        if (hotCacheSize == null) {
+            hotCacheSize = informer.hotCacheSize();
+        }
+        requireNotNegative(beanName, "hotCacheSize", hotCacheSize);
+        Boolean streaming = informerConfiguration.getStreaming();
+        if (streaming == null) {
+            streaming = informer.streaming();
+        }
+        Integer clusterWatchThreshold = informerConfiguration.getClusterWatchThreshold();
+        if (clusterWatchThreshold == null) {
+            clusterWatchThreshold = informer.clusterWatchThreshold();
+        }
+        requireNotNegative(beanName, "clusterWatchThreshold", clusterWatchThreshold);
+        Integer poolSize = informerConfiguration.getPoolSize();
+        if (poolSize == null) {
+            poolSize = informer.poolSize();
+        }
+        requireNotNegative(beanName, "poolSize", poolSize);
+        if (poolSize == 0) {
+            poolSize = Runtime.getRuntime().availableProcessors();
+        }
+        DispatchMode dispatchMode = informerConfiguration.getDispatchMode();
+        if (dispatchMode == null || dispatchMode == DispatchMode.DEFAULT) {
+            dispatchMode = informer.dispatchMode();
+        }
+        if (dispatchMode == DispatchMode.DEFAULT) {
+            dispatchMode = DispatchMode.SERIAL;
+        }
+        Integer maxConcurrency = informerConfiguration.getMaxConcurrency();
+        if (maxConcurrency == null) {
+            maxConcurrency = informer.maxConcurrency();
+        }
+        requireNotNegative(beanName, "maxConcurrency", maxConcurrency);
+        if (maxConcurrency == 0) {
+            maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        }
+        Integer queueCapacity = informerConfiguration.getQueueCapacity();
+        if (queueCapacity == null) {
+            queueCapacity = informer.queueCapacity();
+        }
+        requireNotNegative(beanName, "queueCapacity", queueCapacity);
+        OverflowPolicy overflowPolicy = informerConfiguration.getOverflowPolicy();
+        if (overflowPolicy == null) {
+            overflowPolicy = informer.overflowPolicy();
+        }
+        Boolean coalesce = informerConfiguration.getCoalesce();
+        if (coalesce == null) {
+            coalesce = informer.coalesce();
+        }
+        Integer maxRetries = informerConfiguration.getMaxRetries();
+        if (maxRetries == null) {
+            maxRetries = informer.maxRetries();
+        }
+        requireNotNegative(beanName, "maxRetries", maxRetries);
+        Long retryBaseDelayMs = informerConfiguration.getRetryBaseDelayMs();
+        if (retryBaseDelayMs == null) {
+            retryBaseDelayMs = informer.retryBaseDelayMs();
+        }
+        Long retryMaxDelayMs = informerConfiguration.getRetryMaxDelayMs();
+        if (retryMaxDelayMs == null) {
+            retryMaxDelayMs = informer.retryMaxDelayMs();
+        }
+        Double retryRateLimit = informerConfiguration.getRetryRateLimit();
+        if (retryRateLimit == null) {
+            retryRateLimit = informer.retryRateLimit();
+        }
+        Integer retryBurst = informerConfiguration.getRetryBurst();
+        if (retryBurst == null) {
+            retryBurst = informer.retryBurst();
+        }
+        if (retryBaseDelayMs < 0 || retryMaxDelayMs < retryBaseDelayMs) {
+            throw new IllegalArgumentException("retryBaseDelayMs and retryMaxDelayMs of informer bean " + beanName
+                    + " must satisfy 0 <= retryBaseDelayMs <= retryMaxDelayMs, got " + retryBaseDelayMs + " and "
+                    + retryMaxDelayMs);
+        }
+        if (retryRateLimit < 0 || retryBurst < 1) {
+            throw new IllegalArgumentException("retryRateLimit of informer bean " + beanName
+                    + " must not be negative and retryBurst must be positive, got " + retryRateLimit + " and "
+                    + retryBurst);
+        }
+        String deadLetterHandler = informerConfiguration.getDeadLetterHandler();
+        if (deadLetterHandler == null || deadLetterHandler.isEmpty()) {
+            deadLetterHandler = informer.deadLetterHandler();
+        }
         InformerConfiguration newCfg =
                 new InformerConfiguration(nsLabels, resLabels, resyncPeriod, clientName, nsNames);
+        newCfg.setNsLabelSelectors(nsLabelSelectors);
+        newCfg.setResLabelSelectors(resLabelSelectors);
+        newCfg.setFieldSelectors(fieldSelectors);
+        newCfg.setClusterWatchThreshold(clusterWatchThreshold);
+        newCfg.setMetadataOnly(metadataOnly);
+        newCfg.setCacheStore(cacheStore);
+        newCfg.setHotCacheSize(hotCacheSize);
+        newCfg.setStreaming(streaming);
+        newCfg.setFields(fields);
+        newCfg.setStripManagedFields(stripManagedFields);
+        newCfg.setStripAnnotations(stripAnnotations);
+        newCfg.setTransforms(transforms);
+        newCfg.setPoolSize(poolSize);
+        newCfg.setDispatchMode(dispatchMode);
+        newCfg.setMaxConcurrency(maxConcurrency);
+        newCfg.setQueueCapacity(queueCapacity);
+        newCfg.setOverflowPolicy(overflowPolicy);
+        newCfg.setCoalesce(coalesce);
+        newCfg.setMaxRetries(maxRetries);
+        newCfg.setRetryBaseDelayMs(retryBaseDelayMs);
+        newCfg.setRetryMaxDelayMs(retryMaxDelayMs);
+        newCfg.setRetryRateLimit(retryRateLimit);
+        newCfg.setRetryBurst(retryBurst);
+        newCfg.setDeadLetterHandler(deadLetterHandler);
+
+        return new InformerContext(
+                beanName, bean, bean.getClass(), informer, newCfg, kubeClientFactory.getClient(clientName));
+    }
+
+    /**
+     * Fails the startup on a negative value, also when it comes from application.yml, which the annotation checks of
+     * {@code AnnotationValidator} do not see.
+     */
+    private static void requireNotNegative(String beanName, String property, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(
+                    property + " of informer bean " + beanName + " must not be negative, got " + value);
+        }
+    }
 
-        return new InformerContext(bean.getClass(), informer, newCfg, kubeClientFactory.getClient(clientName));
+    /**
+     * Returns the key=value labels, they are sent as a plain label map like before set-based selectors existed.
+     */
+    private static Map<String, String> equalityLabels(String[] labels) {
+        return Arrays.stream(labels)
+                .map(LabelSelector::parse)
+                .filter(selector -> selector.operator() == LabelSelector.Operator.EQUALS)
+                .collect(Collectors.toMap(LabelSelector::key, selector -> selector.values().get(0)));
+    }
+
+    private static List<String> setBasedLabels(String[] labels) {
+        return Arrays.stream(labels)
+                .map(LabelSelector::parse)
+                .filter(selector -> selector.operator() != LabelSelector.Operator.EQUALS)
+                .map(LabelSelector::toString)
+                .toList();
     }
 }
@@ -16,46 +16,103 @@
 package io.k8swatcher.annotation.processor;
 
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
 import io.k8swatcher.annotation.validate.AnnotationValidator;
-import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+/**
+ * Starts the informers while the application context is refreshed. At most {@code startupConcurrency} informers
+ * do their initial list at the same time, an informer which did not sync within {@code syncTimeoutMs} gives its
+ * permit to the next one. The refresh waits up to {@code syncTimeoutMs} until all of them are synced, so the
+ * application only reports readiness once the caches are filled, and fails if an informer did not sync in time or
+ * could not be started, unless {@code continueOnSyncTimeout} is set. Runs in {@link #PHASE}, so lifecycle beans of a
+ * later phase, like the web server, start once the caches are filled. A non-daemon thread keeps the JVM alive until
+ * the context is closed, the informer threads are daemon threads.
+ */
 @Component
 @Slf4j
-@SuppressWarnings("rawtypes")
-public class InformerEntrypoint {
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class InformerEntrypoint implements SmartLifecycle {
+
+    /**
+     * The lifecycle phase of the sync barrier, before the web server of Spring Boot and other lifecycle beans in the
+     * default phase.
+     */
+    public static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
 
     private final AnnotationValidator validator;
     private final InformerCreator informerCreator;
+    private final EventDispatcher eventDispatcher;
+    private final InformerConfigurationProperty cfg;
+    private final CompletableFuture<Void> synced = new CompletableFuture<>();
+    private final CountDownLatch stopped = new CountDownLatch(1);
     private List<SharedIndexInformer> informerList;
+    private List<StreamingWatch> streamList;
+    private volatile boolean running;
+    private Thread startupThread;
 
-    public InformerEntrypoint(AnnotationValidator validator, InformerCreator informerCreator) {
+    public InformerEntrypoint(
+            AnnotationValidator validator,
+            InformerCreator informerCreator,
+            EventDispatcher eventDispatcher,
+            InformerConfigurationProperty cfg) {
         this.validator = validator;
         this.informerCreator = informerCreator;
+        this.eventDispatcher = eventDispatcher;
+        this.cfg = cfg;
         this.informerList = new ArrayList<>();
+        this.streamList = new ArrayList<>();
     }
 
-    @EventListener
-    public void onStartUp(ApplicationReadyEvent event) {
+    @Override
+    public void start() {
         validateAnnotations();
         this.informerList = informerCreator.createInformers();
-        informerList.forEach(SharedIndexInformer::start);
-
-        boolean isRunning = informerList.stream().anyMatch(SharedIndexInformer::isRunning);
-        while (isRunning) {
-            try {
-                isRunning = informerList.stream().anyMatch(SharedIndexInformer::isRunning);
-                Thread.sleep(TimeUnit.SECONDS.toMillis(1));
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
+        this.streamList = informerCreator.streams();
+        running = true;
+        if (!informerList.isEmpty() || !streamList.isEmpty()) {
+            newThread("k8swatcher-keep-alive-", false, this::keepAlive).start();
+        }
+        startupThread = newThread("k8swatcher-startup-", true, this::startInformers);
+        startupThread.start();
+        if (cfg.getSyncTimeoutMs() <= 0) {
+            return;
+        }
+        boolean inTime;
+        try {
+            inTime = awaitSynced(Duration.ofMillis(cfg.getSyncTimeoutMs()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (inTime) {
+            return;
         }
+        Throwable failure = synced.handle((ignored, error) -> error).getNow(null);
+        String reason = failure != null
+                ? "Informers could not be started"
+                : "Informers did not sync within " + cfg.getSyncTimeoutMs() + "ms";
+        if (cfg.isContinueOnSyncTimeout()) {
+            log.warn("{}, continuing startup without them", reason);
+            return;
+        }
+        stop();
+        throw new IllegalStateException(
+                reason + ", set k8swatcher.continueOnSyncTimeout to start without them", failure);
     }
 
     private void validateAnnotations() {
@@ -64,9 +121,122 @@ public class InformerEntrypoint {
         validator.validateHasConfigName();
     }
 
-    @PreDestroy
-    public void shutdown() {
+    /**
+     * Starts the informers and streaming watches with at most {@code startupConcurrency} of them listing at the same
+     * time, each holds its permit until its initial list is complete or {@code syncTimeoutMs} has passed. Stopping
+     * interrupts the wait for a permit.
+     */
+    private void startInformers() {
+        long startNanos = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, cfg.getStartupConcurrency()));
+        List<CompletableFuture<Void>> starts = new ArrayList<>(informerList.size() + streamList.size());
+        List<Object> pending = new ArrayList<>(informerList);
+        pending.addAll(streamList);
+        for (Object informer : pending) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (!running) {
+                break;
+            }
+            CompletableFuture<Void> start;
+            try {
+                start = informer instanceof StreamingWatch stream
+                        ? stream.start()
+                        : ((SharedIndexInformer) informer).start().toCompletableFuture();
+            } catch (RuntimeException e) {
+                start = CompletableFuture.failedFuture(e);
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            };
+            starts.add(start.whenComplete((ignored, error) -> {
+                release.run();
+                if (error != null) {
+                    log.error("Informer {} could not be started", informer, error);
+                }
+            }));
+            if (cfg.getSyncTimeoutMs() > 0 && !start.isDone()) {
+                CompletableFuture.delayedExecutor(cfg.getSyncTimeoutMs(), TimeUnit.MILLISECONDS)
+                        .execute(release);
+            }
+        }
+        CompletableFuture.allOf(starts.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            if (error != null) {
+                // the informers which failed were logged when their start completed
+                synced.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            log.info(
+                    "{} informers synced in {}ms",
+                    starts.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            synced.complete(null);
+        });
+    }
+
+    private void keepAlive() {
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Whether the informers created on startup completed their initial list. An informer which could not be started,
+     * e.g. because listing the resource is forbidden, never counts as synced.
+     */
+    public boolean hasSynced() {
+        return synced.isDone() && !synced.isCompletedExceptionally();
+    }
+
+    /**
+     * Waits until {@link #hasSynced()}, an informer could not be started or the timeout has passed.
+     *
+     * @return whether the informers are synced
+     */
+    public boolean awaitSynced(Duration timeout) throws InterruptedException {
+        try {
+            synced.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void stop() {
         log.info("Stopping informers");
+        running = false;
+        if (startupThread != null) {
+            startupThread.interrupt();
+        }
         informerList.forEach(SharedIndexInformer::close);
+        informerCreator.closeInformers();
+        eventDispatcher.shutdown();
+        stopped.countDown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private static Thread newThread(String prefix, boolean daemon, Runnable runnable) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(daemon);
+        return threadFactory.newThread(runnable);
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The informers of all beans by what they list and watch. Beans with the same key share the informer, it is closed
+ * when the last of them releases it. Informers created after startup, for namespaces which appeared later, are
+ * started here and closed by {@link #close()}, the ones created at startup are started and closed by
+ * {@link InformerEntrypoint}. The {@link StreamingWatch}es of {@code streaming} beans are not shared, they are all
+ * closed by {@link #close()}.
+ */
+@SuppressWarnings("rawtypes")
+final class InformerRegistry {
+
+    private final Map<Object, Entry> informers = new LinkedHashMap<>();
+    private final List<SharedIndexInformer> started = new ArrayList<>();
+    private final List<StreamingWatch> streams = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Returns the informer of the key, created by the factory if no bean uses it yet.
+     *
+     * @return {@code null} once the registry is closed
+     */
+    synchronized Lease acquire(Object key, Supplier<SharedIndexInformer> factory) {
+        if (closed) {
+            return null;
+        }
+        Entry entry = informers.get(key);
+        boolean created = entry == null;
+        if (created) {
+            entry = new Entry(factory.get());
+            informers.put(key, entry);
+        }
+        entry.leases++;
+        return new Lease(entry.informer, created);
+    }
+
+    /**
+     * Starts an informer created after startup.
+     */
+    synchronized void start(SharedIndexInformer informer) {
+        if (!closed) {
+            started.add(informer);
+            informer.start();
+        }
+    }
+
+    /**
+     * Closes the informer of the key if no other bean uses it.
+     */
+    synchronized void release(Object key) {
+        Entry entry = informers.get(key);
+        if (entry != null && --entry.leases == 0) {
+            informers.remove(key);
+            started.remove(entry.informer);
+            entry.informer.close();
+        }
+    }
+
+    synchronized List<SharedIndexInformer> informers() {
+        return informers.values().stream().map(entry -> entry.informer).toList();
+    }
+
+    /**
+     * Adds a streaming watch and starts it if it was created after startup.
+     *
+     * @return {@code false} once the registry is closed
+     */
+    synchronized boolean addStream(StreamingWatch stream, boolean start) {
+        if (closed) {
+            return false;
+        }
+        streams.add(stream);
+        if (start) {
+            stream.start();
+        }
+        return true;
+    }
+
+    synchronized void removeStream(StreamingWatch stream) {
+        if (streams.remove(stream)) {
+            stream.close();
+        }
+    }
+
+    synchronized List<StreamingWatch> streams() {
+        return List.copyOf(streams);
+    }
+
+    /**
+     * Closes the informers started after startup and all streaming watches, no further ones are created.
+     */
+    synchronized void close() {
+        closed = true;
+        started.forEach(SharedIndexInformer::close);
+        started.clear();
+        streams.forEach(StreamingWatch::close);
+        streams.clear();
+    }
+
+    record Lease(SharedIndexInformer informer, boolean created) {}
+
+    private static final class Entry {
+
+        private final SharedIndexInformer informer;
+        private int leases;
+
+        private Entry(SharedIndexInformer informer) {
+            this.informer = informer;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.k8swatcher.annotation.OverflowPolicy;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+
+/**
+ * Stripes tasks over a fixed number of {@link DispatchLane}s by the namespace/name of the resource they belong to.
+ * Tasks of the same object always end up in the same lane and keep their order, tasks of different objects run
+ * concurrently on the underlying executor. Striped by namespace only, all tasks of a namespace keep their order. With
+ * a single lane every task is run in submission order.
+ */
+final class KeyOrderedExecutor implements DispatchExecutor {
+
+    private final DispatchLane[] lanes;
+    private final boolean byNamespace;
+
+    @Getter
+    private final boolean coalescing;
+
+    KeyOrderedExecutor(Executor executor, int lanes) {
+        this(executor, lanes, Integer.MAX_VALUE, OverflowPolicy.BLOCK, false, LaneMetrics.unregistered());
+    }
+
+    KeyOrderedExecutor(
+            Executor executor,
+            int lanes,
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            boolean coalescing,
+            LaneMetrics metrics) {
+        this(executor, lanes, false, capacity, overflowPolicy, coalescing, metrics);
+    }
+
+    /**
+     * @param byNamespace whether the tasks are striped by the namespace of the resource instead of namespace/name
+     * @param capacity maximum number of queued tasks, split evenly between the lanes
+     * @param coalescing whether queued events of the same object are merged, see {@link DispatchLane}
+     */
+    KeyOrderedExecutor(
+            Executor executor,
+            int lanes,
+            boolean byNamespace,
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            boolean coalescing,
+            LaneMetrics metrics) {
+        this.byNamespace = byNamespace;
+        int laneCapacity = capacity == Integer.MAX_VALUE ? capacity : Math.max(1, capacity / lanes);
+        this.coalescing = coalescing;
+        this.lanes = new DispatchLane[lanes];
+        for (int i = 0; i < lanes; i++) {
+            this.lanes[i] = new DispatchLane(executor, laneCapacity, overflowPolicy, coalescing, metrics);
+        }
+    }
+
+    @Override
+    public void execute(DispatchTask task) {
+        lanes[laneOf(task.getObj())].submit(task);
+    }
+
+    @Override
+    public boolean offer(DispatchTask task) {
+        return lanes[laneOf(task.getObj())].offer(task);
+    }
+
+    /**
+     * Submits the DELETE tasks of the given object, see {@link DispatchLane#submitDelete(String, List)}.
+     */
+    @Override
+    public void delete(Object obj, List<DispatchTask> tasks) {
+        lanes[laneOf(obj)].submitDelete(DispatchTask.keyOf(obj), tasks);
+    }
+
+    int laneOf(Object resource) {
+        if (lanes.length == 1 || !(resource instanceof HasMetadata hasMetadata)) {
+            return 0;
+        }
+        ObjectMeta metadata = hasMetadata.getMetadata();
+        if (metadata == null) {
+            return 0;
+        }
+        int hash = byNamespace
+                ? Objects.hashCode(metadata.getNamespace())
+                : 31 * Objects.hashCode(metadata.getNamespace()) + Objects.hashCode(metadata.getName());
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+}
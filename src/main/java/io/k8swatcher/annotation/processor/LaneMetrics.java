@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.metrics.InformerMetrics;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue metrics shared by all dispatch lanes of one bulkhead.
+ */
+record LaneMetrics(AtomicLong queued, LongAdder dropped, LongAdder coalesced) {
+
+    static LaneMetrics register(InformerMetrics metrics, String name) {
+        AtomicLong queued = new AtomicLong();
+        metrics.gauge("dispatch." + name + ".queued", queued::get);
+        return new LaneMetrics(
+                queued,
+                metrics.counter("dispatch." + name + ".dropped"),
+                metrics.counter("dispatch." + name + ".coalesced"));
+    }
+
+    static LaneMetrics unregistered() {
+        return new LaneMetrics(new AtomicLong(), new LongAdder(), new LongAdder());
+    }
+}
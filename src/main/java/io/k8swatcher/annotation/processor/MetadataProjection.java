@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Reduces resources to their apiVersion, kind and metadata for informers with {@code metadataOnly}. The other
+ * fields are set to {@code null} in place, so the handlers still receive the typed resource and the cache does not
+ * hold on to specs, statuses or the data of Secrets and ConfigMaps.
+ */
+final class MetadataProjection {
+
+    private static final Set<String> KEPT_FIELDS = Set.of("apiVersion", "kind", "metadata");
+
+    private static final ClassValue<Field[]> CLEARED_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            ReflectionUtils.doWithFields(
+                    type,
+                    field -> {
+                        ReflectionUtils.makeAccessible(field);
+                        fields.add(field);
+                    },
+                    field -> !Modifier.isStatic(field.getModifiers())
+                            && !field.getType().isPrimitive()
+                            && !KEPT_FIELDS.contains(field.getName()));
+            return fields.toArray(Field[]::new);
+        }
+    };
+
+    private MetadataProjection() {}
+
+    static <T extends HasMetadata> T project(T obj) {
+        for (Field field : CLEARED_FIELDS.get(obj.getClass())) {
+            Object value = ReflectionUtils.getField(field, obj);
+            if (value instanceof Map<?, ?> additionalProperties && field.getName().equals("additionalProperties")) {
+                // unknown fields are collected here, the accessors of the models expect the map to exist
+                additionalProperties.clear();
+            } else if (value != null) {
+                ReflectionUtils.setField(field, obj, null);
+            }
+        }
+        return obj;
+    }
+
+    /**
+     * Converts the resource for {@link PartialObjectMetadata} parameters, the metadata is shared, not copied.
+     */
+    static PartialObjectMetadata toPartialObjectMetadata(Object obj) {
+        if (obj == null || obj instanceof PartialObjectMetadata) {
+            return (PartialObjectMetadata) obj;
+        }
+        HasMetadata resource = (HasMetadata) obj;
+        PartialObjectMetadata metadata = new PartialObjectMetadata();
+        metadata.setApiVersion(resource.getApiVersion());
+        metadata.setKind(resource.getKind());
+        metadata.setMetadata(resource.getMetadata());
+        return metadata;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import java.util.Set;
+
+/**
+ * Passes the events of a cluster-wide informer to the handler of a bean which selects its namespaces by label, but
+ * only those of objects in the selected namespaces. A set lookup is far cheaper than a watch per namespace, the
+ * informer caches the objects of the other namespaces though.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class NamespaceFilteringHandler implements ResourceEventHandler {
+
+    private final ResourceEventHandler delegate;
+    private final Set<String> namespaces;
+
+    NamespaceFilteringHandler(ResourceEventHandler delegate, Set<String> namespaces) {
+        this.delegate = delegate;
+        this.namespaces = namespaces;
+    }
+
+    @Override
+    public void onAdd(Object obj) {
+        if (accepts(obj)) {
+            delegate.onAdd(obj);
+        }
+    }
+
+    @Override
+    public void onUpdate(Object oldObj, Object newObj) {
+        if (accepts(newObj)) {
+            delegate.onUpdate(oldObj, newObj);
+        }
+    }
+
+    @Override
+    public void onDelete(Object obj, boolean deletedFinalStateUnknown) {
+        if (accepts(obj)) {
+            delegate.onDelete(obj, deletedFinalStateUnknown);
+        }
+    }
+
+    @Override
+    public void onNothing() {
+        delegate.onNothing();
+    }
+
+    private boolean accepts(Object obj) {
+        String namespace = ((HasMetadata) obj).getMetadata().getNamespace();
+        return namespace != null && namespaces.contains(namespace);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the namespaces selected by the {@code nsLabels} of a bean up to date. The handler of a namespace informer
+ * with the same label selector: the API server reports a namespace which starts or stops matching the selector as
+ * added or deleted, so only the namespace which changed is passed on and the others are not listed again.
+ */
+class NamespaceTracker implements ResourceEventHandler<Namespace> {
+
+    private final Set<String> namespaces;
+    private final Consumer<String> added;
+    private final Consumer<String> removed;
+
+    /**
+     * @param namespaces the selected namespaces, updated before the callbacks run
+     */
+    NamespaceTracker(Set<String> namespaces, Consumer<String> added, Consumer<String> removed) {
+        this.namespaces = namespaces;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    @Override
+    public void onAdd(Namespace namespace) {
+        String name = namespace.getMetadata().getName();
+        if (namespaces.add(name)) {
+            added.accept(name);
+        }
+    }
+
+    @Override
+    public void onUpdate(Namespace oldNamespace, Namespace newNamespace) {}
+
+    @Override
+    public void onDelete(Namespace namespace, boolean deletedFinalStateUnknown) {
+        String name = namespace.getMetadata().getName();
+        if (namespaces.remove(name)) {
+            removed.accept(name);
+        }
+    }
+}
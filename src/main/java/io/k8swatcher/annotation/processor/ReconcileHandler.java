@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.k8swatcher.annotation.Reconcile;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Turns the events of an informer into reconcile tasks of the {@link Reconcile} methods. Every event only marks the
+ * key of the object as changed: the {@link WorkQueue} merges the tasks of a key and the method reads the latest
+ * state from the cache when it runs. Resyncs of unchanged objects are dropped on the informer thread, except for the
+ * methods with {@link Reconcile#resync()}.
+ */
+@SuppressWarnings("rawtypes")
+class ReconcileHandler implements ResourceEventHandler {
+
+    private final Supplier<?> beanSupplier;
+    private final WatchMethodInvoker[] invokers;
+    private final WatchMethodInvoker[] resyncInvokers;
+    private final WorkQueue workQueue;
+    private final Function<String, Object> cache;
+
+    /**
+     * @param cache returns the cached object of a namespace/name key, {@code null} if it does not exist
+     */
+    ReconcileHandler(
+            Supplier<?> beanSupplier,
+            List<Method> reconcileMethods,
+            WorkQueue workQueue,
+            Function<String, Object> cache) {
+        this.beanSupplier = beanSupplier;
+        this.invokers = reconcileMethods.stream()
+                .map(WatchMethodInvoker::ofReconcile)
+                .toArray(WatchMethodInvoker[]::new);
+        this.resyncInvokers = Arrays.stream(invokers)
+                .filter(invoker -> invoker.getMethod().getAnnotation(Reconcile.class).resync())
+                .toArray(WatchMethodInvoker[]::new);
+        this.workQueue = workQueue;
+        this.cache = cache;
+    }
+
+    /**
+     * Whether any method reconciles on resyncs, handlers without one are registered without resync period.
+     */
+    boolean hasResyncMethods() {
+        return resyncInvokers.length > 0;
+    }
+
+    @Override
+    public void onAdd(Object obj) {
+        enqueue(invokers, obj);
+    }
+
+    @Override
+    public void onUpdate(Object oldObj, Object newObj) {
+        enqueue(IndexInformerResHandler.isResync(oldObj, newObj) ? resyncInvokers : invokers, newObj);
+    }
+
+    @Override
+    public void onDelete(Object obj, boolean deletedFinalStateUnknown) {
+        enqueue(invokers, obj);
+    }
+
+    private void enqueue(WatchMethodInvoker[] invokers, Object obj) {
+        for (WatchMethodInvoker invoker : invokers) {
+            workQueue.execute(DispatchTask.reconcile(invoker, beanSupplier, obj, cache));
+        }
+    }
+}
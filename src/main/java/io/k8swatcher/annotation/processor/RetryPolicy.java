@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/**
+ * When a failed event is retried: the delay doubles with every failure of the object, starting at the base delay
+ * and capped at the max delay, and is stretched further if the rate limit shared by all objects is exceeded.
+ */
+final class RetryPolicy {
+
+    @Getter
+    private final int maxRetries;
+
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final TokenBucket rateLimiter;
+
+    RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs, TokenBucket rateLimiter) {
+        this.maxRetries = maxRetries;
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(baseDelayMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns the delay in nanoseconds before the next attempt of an object which failed {@code failures} times in
+     * a row. Every call takes a token of the rate limiter.
+     */
+    long delayNanos(int failures) {
+        int shift = Math.min(Math.max(failures - 1, 0), 62);
+        long backoff = baseDelayNanos > (maxDelayNanos >> shift) ? maxDelayNanos : baseDelayNanos << shift;
+        return Math.max(backoff, rateLimiter.reserve());
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.k8swatcher.annotation.CacheStore;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The store of an informer which keeps the objects as JSON bytes instead of object graphs, which take several times
+ * the memory of their serialized form. The bytes are optionally compressed and kept in direct buffers of a
+ * {@link DirectBufferPool}, see {@link CacheStore}, objects too large for the pool stay on the heap. The last
+ * {@code hotCacheSize} objects read or written are also kept deserialized, so handlers reading the objects they were
+ * just notified about do not deserialize them again.
+ * <p>
+ * The items and the hot objects are changed together under the lock of the hot objects. Objects are deserialized
+ * outside of it and only become hot if their item was not replaced or removed in the meantime.
+ */
+final class SerializedItemStore<T extends HasMetadata> implements ItemStore<T> {
+
+    private final Class<T> type;
+    private final KubernetesSerialization serialization;
+    private final boolean compressed;
+    private final boolean offHeap;
+    private final Map<String, Object> items = new ConcurrentHashMap<>();
+    private final Map<String, T> hot;
+    private final DirectBufferPool buffers;
+    private final LongAdder storedBytes;
+
+    /**
+     * @param store {@link CacheStore#SERIALIZED}, {@link CacheStore#COMPRESSED} or {@link CacheStore#OFF_HEAP}
+     * @param storedBytes the number of bytes of the serialized objects, updated by the store
+     */
+    SerializedItemStore(
+            Class<T> type,
+            KubernetesSerialization serialization,
+            CacheStore store,
+            int hotCacheSize,
+            LongAdder storedBytes) {
+        this.type = type;
+        this.serialization = serialization;
+        this.compressed = store == CacheStore.COMPRESSED || store == CacheStore.OFF_HEAP;
+        this.offHeap = store == CacheStore.OFF_HEAP;
+        this.buffers = offHeap ? new DirectBufferPool() : null;
+        this.storedBytes = storedBytes;
+        this.hot = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                return size() > hotCacheSize;
+            }
+        };
+    }
+
+    @Override
+    public String getKey(T obj) {
+        return Cache.metaNamespaceKeyFunc(obj);
+    }
+
+    @Override
+    public T put(String key, T obj) {
+        // the informer returns the previous object as the old object of the UPDATE
+        T previous = get(key);
+        Object item = encode(obj);
+        storedBytes.add(sizeOf(item));
+        synchronized (hot) {
+            hot.put(key, obj);
+            release(items.put(key, item));
+        }
+        return previous;
+    }
+
+    @Override
+    public T remove(String key) {
+        T previous = get(key);
+        synchronized (hot) {
+            hot.remove(key);
+            release(items.remove(key));
+        }
+        return previous;
+    }
+
+    @Override
+    public Stream<String> keySet() {
+        return items.keySet().stream();
+    }
+
+    @Override
+    public T get(String key) {
+        Object item;
+        byte[] bytes;
+        synchronized (hot) {
+            T obj = hot.get(key);
+            if (obj != null) {
+                return obj;
+            }
+            item = items.get(key);
+            if (item == null) {
+                return null;
+            }
+            bytes = bytesOf(item);
+        }
+        T obj = decode(bytes);
+        synchronized (hot) {
+            // a put or remove while decoding wins, the stale object must not become hot
+            if (items.get(key) == item) {
+                hot.put(key, obj);
+            }
+        }
+        return obj;
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Deserializes the objects which are not hot without adding them to the hot objects, so iterating the store does
+     * not evict them. Every object is deserialized, which is why handlers without resync methods do not resync.
+     */
+    @Override
+    public Stream<T> values() {
+        return items.keySet().stream()
+                .map(key -> {
+                    byte[] bytes;
+                    synchronized (hot) {
+                        T obj = hot.get(key);
+                        if (obj != null) {
+                            return obj;
+                        }
+                        Object item = items.get(key);
+                        if (item == null) {
+                            return null;
+                        }
+                        bytes = bytesOf(item);
+                    }
+                    return decode(bytes);
+                })
+                .filter(Objects::nonNull);
+    }
+
+    private Object encode(T obj) {
+        byte[] bytes = serialization.asJson(obj).getBytes(StandardCharsets.UTF_8);
+        if (compressed) {
+            bytes = deflate(bytes);
+        }
+        if (!offHeap || bytes.length > DirectBufferPool.MAX_POOLED) {
+            return bytes;
+        }
+        ByteBuffer buffer = buffers.allocate(bytes.length);
+        buffer.duplicate().put(bytes);
+        return buffer;
+    }
+
+    /**
+     * Returns the bytes of an item, called with the lock held: the buffer of an item may be reused once it is
+     * replaced or removed, so its bytes are copied before.
+     */
+    private static byte[] bytesOf(Object item) {
+        if (!(item instanceof ByteBuffer buffer)) {
+            return (byte[]) item;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    // called with the lock held
+    private void release(Object item) {
+        if (item == null) {
+            return;
+        }
+        storedBytes.add(-sizeOf(item));
+        if (item instanceof ByteBuffer buffer) {
+            buffers.release(buffer);
+        }
+    }
+
+    private T decode(byte[] bytes) {
+        if (compressed) {
+            bytes = inflate(bytes);
+        }
+        return serialization.unmarshal(new String(bytes, StandardCharsets.UTF_8), type);
+    }
+
+    private static long sizeOf(Object item) {
+        return item instanceof ByteBuffer buffer ? buffer.capacity() : ((byte[]) item).length;
+    }
+
+    /**
+     * Compresses the bytes, the first four bytes of the result are the uncompressed length.
+     */
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+            out.write(bytes.length >>> 24);
+            out.write(bytes.length >>> 16);
+            out.write(bytes.length >>> 8);
+            out.write(bytes.length);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        int length = (bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 4, bytes.length - 4);
+            byte[] inflated = new byte[length];
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                offset += inflater.inflate(inflated, offset, length - offset);
+            }
+            return inflated;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Cached object is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.ListOptionsBuilder;
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.cache.Cache;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Passes the events of a raw watch to a handler without an informer cache, for {@code streaming} informers. The
+ * objects are listed once and then watched with bookmarks from the resourceVersion of the list. The client resumes
+ * the watch from the last resourceVersion after connection failures, when the API server no longer has it (410 Gone)
+ * the objects are listed again and the differences are passed on as ADD, UPDATE and DELETE.
+ *
+ * <p>Only the resourceVersion of every object is kept, and the last object itself if the handler has UPDATE methods,
+ * as they need the old object. Objects deleted while the watch was down are passed to DELETE methods with
+ * {@code deletedFinalStateUnknown}, without the last object only their name, namespace and resourceVersion are set.
+ *
+ * <p>The lists and retries run on a scheduler shared by all streams. A stream has at most one of them scheduled at a
+ * time, so they never run concurrently.
+ */
+@Slf4j
+@SuppressWarnings("unchecked")
+final class StreamingWatch<T extends HasMetadata> implements Watcher<T> {
+
+    private static final long LIST_LIMIT = 500;
+    private static final long RETRY_BASE_DELAY_MS = 1000;
+    private static final long RETRY_MAX_DELAY_MS = 30_000;
+
+    private final String name;
+    private final Class<T> resource;
+    private final FilterWatchListDeletable<T, ? extends KubernetesResourceList<T>, ?> operation;
+    private final ResourceEventHandler<T> handler;
+    private final boolean keepObjects;
+    private final UnaryOperator<T> transform;
+    private final LongAdder relists;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<Void> synced = new CompletableFuture<>();
+
+    /**
+     * The resourceVersion of every object by namespace/name key, or the object itself with {@code keepObjects}.
+     * Only accessed by the watch thread and the relist, which runs while there is no watch.
+     */
+    private final Map<String, Object> known = new HashMap<>();
+
+    private boolean started;
+    private volatile Watch watch;
+    private volatile boolean closed;
+
+    /**
+     * Written by the watch thread of the client and read by the scheduler when the watch is resumed.
+     */
+    private volatile String resourceVersion;
+
+    private int failures;
+
+    /**
+     * @param keepObjects whether the last object is kept for the old object of UPDATEs
+     * @param transform applied to every object before it is passed on, see {@link CacheTransform}
+     * @param scheduler runs the lists and retries, shared by all streams
+     */
+    StreamingWatch(
+            String name,
+            Class<T> resource,
+            FilterWatchListDeletable<T, ? extends KubernetesResourceList<T>, ?> operation,
+            ResourceEventHandler<T> handler,
+            boolean keepObjects,
+            UnaryOperator<T> transform,
+            LongAdder relists,
+            ScheduledExecutorService scheduler) {
+        this.name = name;
+        this.resource = resource;
+        this.operation = operation;
+        this.handler = handler;
+        this.keepObjects = keepObjects;
+        this.transform = transform;
+        this.relists = relists;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Lists the objects and starts watching them.
+     *
+     * @return completes when the objects were listed, exceptionally if the first list failed. The list is retried
+     *     until it succeeds or the watch is closed.
+     */
+    synchronized CompletableFuture<Void> start() {
+        if (!started) {
+            started = true;
+            schedule(this::relistAndWatch, 0);
+        }
+        return synced;
+    }
+
+    /**
+     * Stops the watch, a list or retry which is already scheduled does nothing when it runs.
+     */
+    synchronized void close() {
+        closed = true;
+        Watch current = watch;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    @Override
+    public void eventReceived(Action action, T obj) {
+        ObjectMeta metadata = obj.getMetadata();
+        if (metadata != null && metadata.getResourceVersion() != null) {
+            resourceVersion = metadata.getResourceVersion();
+        }
+        switch (action) {
+            case ADDED, MODIFIED -> received(transform.apply(obj));
+            case DELETED -> {
+                known.remove(Cache.metaNamespaceKeyFunc(obj));
+                handler.onDelete(transform.apply(obj), false);
+            }
+            case ERROR -> log.warn("Watch {} received an error event {}", name, obj);
+            case BOOKMARK -> {
+                // only moves the resourceVersion the watch resumes from
+            }
+        }
+    }
+
+    private void received(T obj) {
+        Object previous = known.put(Cache.metaNamespaceKeyFunc(obj), keepObjects ? obj : versionOf(obj));
+        if (previous == null) {
+            handler.onAdd(obj);
+        } else if (keepObjects) {
+            handler.onUpdate((T) previous, obj);
+        }
+    }
+
+    @Override
+    public void onClose(WatcherException cause) {
+        if (closed) {
+            return;
+        }
+        if (cause.isHttpGone()) {
+            log.info("resourceVersion {} of watch {} is gone, listing again", resourceVersion, name);
+            schedule(this::relistAndWatch, 0);
+        } else {
+            log.warn("Watch {} closed, resuming from resourceVersion {}", name, resourceVersion, cause);
+            schedule(this::watch, RETRY_BASE_DELAY_MS);
+        }
+    }
+
+    @Override
+    public void onClose() {
+        // closed by close()
+    }
+
+    private void relistAndWatch() {
+        if (closed) {
+            return;
+        }
+        try {
+            relist();
+        } catch (RuntimeException e) {
+            synced.completeExceptionally(e);
+            long delay = Math.min(RETRY_MAX_DELAY_MS, RETRY_BASE_DELAY_MS << Math.min(failures++, 5));
+            log.warn("Listing {} failed, retrying in {}ms", name, delay, e);
+            schedule(this::relistAndWatch, delay);
+            return;
+        }
+        failures = 0;
+        synced.complete(null);
+        watch();
+    }
+
+    /**
+     * Lists the objects in pages and passes on the differences to the objects known from before.
+     */
+    private void relist() {
+        if (synced.isDone()) {
+            relists.increment();
+        }
+        Set<String> listed = new HashSet<>();
+        String continueToken = null;
+        do {
+            ListOptions options = new ListOptionsBuilder()
+                    .withLimit(LIST_LIMIT)
+                    .withContinue(continueToken)
+                    .build();
+            KubernetesResourceList<T> list = operation.list(options);
+            for (T obj : list.getItems()) {
+                obj = transform.apply(obj);
+                String key = Cache.metaNamespaceKeyFunc(obj);
+                listed.add(key);
+                Object previous = known.get(key);
+                if (previous == null || !versionOf(obj).equals(versionOf(previous))) {
+                    received(obj);
+                }
+            }
+            continueToken = list.getMetadata().getContinue();
+            resourceVersion = list.getMetadata().getResourceVersion();
+        } while (continueToken != null && !continueToken.isEmpty());
+
+        for (var iterator = known.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if (!listed.contains(entry.getKey())) {
+                iterator.remove();
+                handler.onDelete(lastObject(entry.getKey(), entry.getValue()), true);
+            }
+        }
+    }
+
+    private void watch() {
+        if (closed) {
+            return;
+        }
+        try {
+            watch = operation.watch(
+                    new ListOptionsBuilder()
+                            .withResourceVersion(resourceVersion)
+                            .withAllowWatchBookmarks(true)
+                            .build(),
+                    this);
+        } catch (RuntimeException e) {
+            log.warn("Watching {} failed, listing again", name, e);
+            schedule(this::relistAndWatch, RETRY_BASE_DELAY_MS);
+        }
+    }
+
+    private synchronized void schedule(Runnable task, long delayMs) {
+        if (closed) {
+            return;
+        }
+        try {
+            scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatcher is stopped, not watching {} anymore", name);
+        }
+    }
+
+    private String versionOf(Object known) {
+        return known instanceof HasMetadata obj ? obj.getMetadata().getResourceVersion() : (String) known;
+    }
+
+    /**
+     * Returns the last object of the key, or one with only the name, namespace and resourceVersion set if the
+     * objects are not kept.
+     */
+    private T lastObject(String key, Object known) {
+        if (known instanceof HasMetadata) {
+            return (T) known;
+        }
+        T obj;
+        try {
+            obj = resource.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + resource.getName(), e);
+        }
+        int separator = key.indexOf('/');
+        ObjectMeta metadata = new ObjectMeta();
+        metadata.setNamespace(separator < 0 ? null : key.substring(0, separator));
+        metadata.setName(key.substring(separator + 1));
+        metadata.setResourceVersion((String) known);
+        obj.setMetadata(metadata);
+        return obj;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how often something may happen: the bucket holds up to {@code burst} tokens and is refilled with
+ * {@code perSecond} tokens per second. Callers reserve a token and wait until it is available, so a burst of
+ * callers is spread out evenly instead of being rejected.
+ */
+final class TokenBucket {
+
+    private final double nanosPerToken;
+    private final double burst;
+    private final LongSupplier clock;
+    private double tokens;
+    private long last;
+
+    /**
+     * @param perSecond refill rate, 0 or less disables the limit
+     */
+    TokenBucket(double perSecond, int burst) {
+        this(perSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double perSecond, int burst, LongSupplier clock) {
+        this.nanosPerToken = perSecond <= 0 ? 0 : 1_000_000_000d / perSecond;
+        this.burst = Math.max(1, burst);
+        this.clock = clock;
+        this.tokens = this.burst;
+        this.last = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token and returns the number of nanoseconds until it is available, 0 if it is available right away.
+     */
+    synchronized long reserve() {
+        if (nanosPerToken == 0) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - last) / nanosPerToken);
+        last = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerToken);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.informers.cache.ItemStore;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * The store of an informer which passes every object through a transform before it is cached in the delegate. The
+ * informer hands the object it was given to the handlers after storing it, the transform therefore has to change the
+ * object in place and return it, so the handlers see what is cached.
+ */
+class TransformingItemStore<T extends HasMetadata> implements ItemStore<T> {
+
+    private final ItemStore<T> delegate;
+    private final UnaryOperator<T> transform;
+
+    TransformingItemStore(ItemStore<T> delegate, UnaryOperator<T> transform) {
+        this.delegate = delegate;
+        this.transform = transform;
+    }
+
+    @Override
+    public String getKey(T obj) {
+        return delegate.getKey(obj);
+    }
+
+    @Override
+    public T put(String key, T obj) {
+        return delegate.put(key, transform.apply(obj));
+    }
+
+    @Override
+    public T remove(String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public Stream<String> keySet() {
+        return delegate.keySet();
+    }
+
+    @Override
+    public T get(String key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Stream<T> values() {
+        return delegate.values();
+    }
+}
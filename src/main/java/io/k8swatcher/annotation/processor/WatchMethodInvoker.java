@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Reconcile;
+import io.k8swatcher.annotation.ResourceEvent;
+import io.k8swatcher.annotation.Watch;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link Watch} method compiled once into a class generated by the {@link LambdaMetafactory}, which calls the
+ * method directly, so dispatching an event neither boxes the arguments into an {@code Object[]} nor repeats the
+ * reflective access checks, and the JIT can inline the method like any other call. Methods the generated class cannot
+ * link to, e.g. private methods or classes of another class loader, are called through a {@link MethodHandle}
+ * instead. The optional {@code deletedFinalStateUnknown} parameter of DELETE methods is resolved here as well, the
+ * call always takes it and drops it for single parameter methods. Batched methods take the list of events as their
+ * only argument. {@link Reconcile} methods are compiled the same way and take the key and the cached object, the
+ * latter is dropped for single parameter methods, and return the requeue delay or {@code null}.
+ */
+@Slf4j
+final class WatchMethodInvoker {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CALL_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object.class, Object.class);
+
+    @Getter
+    private final Method method;
+
+    @Getter
+    private final EventType event;
+
+    /**
+     * Whether the method takes a list of events, see {@link Watch#batchSize()}.
+     */
+    @Getter
+    private final boolean batch;
+
+    /**
+     * Whether the batch elements are {@link ResourceEvent}s instead of the resources themselves.
+     */
+    @Getter
+    private final boolean resourceEvents;
+
+    /**
+     * Whether this is a {@link Reconcile} method, which has no event type.
+     */
+    @Getter
+    private final boolean reconcile;
+
+    private final Call call;
+
+    private WatchMethodInvoker(
+            Method method, EventType event, boolean batch, boolean resourceEvents, boolean reconcile, Call call) {
+        this.method = method;
+        this.event = event;
+        this.batch = batch;
+        this.resourceEvents = resourceEvents;
+        this.reconcile = reconcile;
+        this.call = call;
+    }
+
+    static WatchMethodInvoker of(Method method) {
+        Watch watch = method.getAnnotation(Watch.class);
+        boolean batch = watch.batchSize() > 0;
+        return new WatchMethodInvoker(
+                method, watch.event(), batch, batch && isResourceEventList(method), false, compile(method));
+    }
+
+    static WatchMethodInvoker ofReconcile(Method method) {
+        return new WatchMethodInvoker(method, null, false, false, true, compile(method));
+    }
+
+    /**
+     * Whether the parameter is a {@code List<ResourceEvent<T>>}, the validator has checked that it is a list.
+     */
+    private static boolean isResourceEventList(Method method) {
+        if (!(method.getGenericParameterTypes()[0] instanceof ParameterizedType list)) {
+            return false;
+        }
+        Type element = list.getActualTypeArguments()[0];
+        if (element instanceof WildcardType wildcard) {
+            element = wildcard.getUpperBounds()[0];
+        }
+        return element == ResourceEvent.class
+                || element instanceof ParameterizedType parameterized
+                        && parameterized.getRawType() == ResourceEvent.class;
+    }
+
+    void invokeBatch(Object bean, List<?> events) {
+        try {
+            call.call(bean, events, null);
+        } catch (Throwable e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+        }
+    }
+
+    void invokeAdd(Object bean, Object obj) {
+        try {
+            call.call(bean, obj, null);
+        } catch (Throwable e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+        }
+    }
+
+    void invokeUpdate(Object bean, Object oldObj, Object newObj) {
+        try {
+            call.call(bean, oldObj, newObj);
+        } catch (Throwable e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the {@link Duration} after which the key should be reconciled again, {@code null} for void methods.
+     */
+    Duration invokeReconcile(Object bean, String key, Object current) {
+        try {
+            return (Duration) call.call(bean, key, current);
+        } catch (Throwable e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+            return null;
+        }
+    }
+
+    void invokeDelete(Object bean, Object obj, boolean deletedFinalStateUnknown) {
+        try {
+            call.call(bean, obj, deletedFinalStateUnknown);
+        } catch (Throwable e) {
+            ReflectionUtils.rethrowRuntimeException(e);
+        }
+    }
+
+    private static Call compile(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        Call call = isLinkable(method) ? generate(method) : null;
+        if (call == null) {
+            call = handleCall(method);
+        }
+        return convertPartialObjectMetadata(method, call);
+    }
+
+    /**
+     * Whether a class generated next to this one can link to the method, which requires the method and the types of
+     * its signature to be public and visible from this class loader.
+     */
+    private static boolean isLinkable(Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !isLinkable(method.getDeclaringClass())) {
+            return false;
+        }
+        if (method.getReturnType() != void.class && !isLinkable(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!isLinkable(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLinkable(Class<?> type) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+        Class<?> componentType = type.isArray() ? type.getComponentType() : type;
+        if (componentType.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> enclosing = componentType; enclosing != null; enclosing = enclosing.getEnclosingClass()) {
+            if (!Modifier.isPublic(enclosing.getModifiers())) {
+                return false;
+            }
+        }
+        return ClassUtils.isVisible(componentType, WatchMethodInvoker.class.getClassLoader());
+    }
+
+    /**
+     * Generates a class implementing one of the call interfaces which calls the method, {@code null} if the method
+     * is not accessible from this class.
+     */
+    private static Call generate(Method method) {
+        boolean isVoid = method.getReturnType() == void.class;
+        int parameterCount = method.getParameterCount();
+        Class<?> callInterface = parameterCount == 1
+                ? (isVoid ? VoidCall1.class : ValueCall1.class)
+                : (isVoid ? VoidCall2.class : ValueCall2.class);
+        MethodType erased =
+                MethodType.genericMethodType(parameterCount + 1).changeReturnType(isVoid ? void.class : Object.class);
+        MethodType instantiated = MethodType.methodType(
+                        ClassUtils.resolvePrimitiveIfNecessary(method.getReturnType()),
+                        method.getParameterTypes())
+                .wrap()
+                .insertParameterTypes(0, method.getDeclaringClass());
+        if (isVoid) {
+            instantiated = instantiated.changeReturnType(void.class);
+        }
+        Object generated;
+        try {
+            MethodHandle target = LOOKUP.unreflect(method);
+            generated = LambdaMetafactory.metafactory(
+                            LOOKUP, "call", MethodType.methodType(callInterface), erased, target, instantiated)
+                    .getTarget()
+                    .invoke();
+        } catch (Throwable e) {
+            log.debug("Calling {} through a method handle: {}", method, e.toString());
+            return null;
+        }
+        if (generated instanceof VoidCall1 voidCall) {
+            return (bean, first, second) -> {
+                voidCall.call(bean, first);
+                return null;
+            };
+        }
+        if (generated instanceof VoidCall2 voidCall) {
+            return (bean, first, second) -> {
+                voidCall.call(bean, first, second);
+                return null;
+            };
+        }
+        if (generated instanceof ValueCall1 valueCall) {
+            return (bean, first, second) -> valueCall.call(bean, first);
+        }
+        return ((ValueCall2) generated)::call;
+    }
+
+    private static Call handleCall(Method method) {
+        MethodHandle target;
+        try {
+            target = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access method " + method.getName() + " in class "
+                    + method.getDeclaringClass().getName(), e);
+        }
+        MethodHandle handle = target.asType(target.type().generic());
+        if (method.getParameterCount() == 1) {
+            handle = MethodHandles.dropArguments(handle, 2, Object.class);
+        }
+        MethodHandle exact = handle.asType(CALL_TYPE);
+        return (bean, first, second) -> exact.invokeExact(bean, first, second);
+    }
+
+    /**
+     * Converts the resources passed to {@link PartialObjectMetadata} parameters of {@code metadataOnly} informers.
+     */
+    private static Call convertPartialObjectMetadata(Method method, Call call) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        boolean first = parameterTypes[0] == PartialObjectMetadata.class;
+        boolean second = parameterTypes.length > 1 && parameterTypes[1] == PartialObjectMetadata.class;
+        if (!first && !second) {
+            return call;
+        }
+        return (bean, firstArg, secondArg) -> call.call(
+                bean,
+                first ? MetadataProjection.toPartialObjectMetadata(firstArg) : firstArg,
+                second ? MetadataProjection.toPartialObjectMetadata(secondArg) : secondArg);
+    }
+
+    /**
+     * The compiled call of a method with the bean and up to two arguments, arguments the method does not take are
+     * ignored. Returns the result of the method, {@code null} for void methods.
+     */
+    @FunctionalInterface
+    private interface Call {
+        Object call(Object bean, Object first, Object second) throws Throwable;
+    }
+
+    // the interfaces implemented by the generated classes, their erased signature must match the method exactly
+
+    @FunctionalInterface
+    interface VoidCall1 {
+        void call(Object bean, Object arg);
+    }
+
+    @FunctionalInterface
+    interface VoidCall2 {
+        void call(Object bean, Object first, Object second);
+    }
+
+    @FunctionalInterface
+    interface ValueCall1 {
+        Object call(Object bean, Object arg);
+    }
+
+    @FunctionalInterface
+    interface ValueCall2 {
+        Object call(Object bean, Object first, Object second);
+    }
+}
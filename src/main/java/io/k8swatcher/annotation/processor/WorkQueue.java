@@ -0,0 +1,487 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.DeadLetterHandler;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.OverflowPolicy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the {@link DispatchTask}s of {@link io.k8swatcher.annotation.DispatchMode#WORK_QUEUE} handlers, modelled on
+ * the client-go work queue. Tasks are queued per object (namespace/name) and an object is handled by at most one
+ * worker at a time, in the order of its events. An object which is already queued, being handled or waiting for a
+ * retry takes no further worker, its new events are appended and a newer UPDATE, RESYNC or reconcile is merged into
+ * the waiting one of the same method, so an object queues at most one of them per method. Tasks without an object,
+ * the batches of batched methods, are queued per method and run one after another in order.
+ * <p>
+ * At most {@code capacity} tasks are queued, the {@link OverflowPolicy} decides what happens to a new task when the
+ * queue is full. DROP_OLDEST drops the head of the object which waits longest for a worker, and the new task if all
+ * queued objects are being handled or wait for their retry. Retries and requeues are not bounded.
+ * <p>
+ * When a task fails it stays at the head of its object, which is handed to a worker again after the
+ * {@link RetryPolicy} delay. After the maximum number of retries the task is passed to the {@link DeadLetterHandler}
+ * and the next event of the object is handled.
+ * <p>
+ * A reconcile task which returns a {@link Duration} is queued again once it has passed. There is at most one such
+ * requeue per key and method, the earliest one wins. Retries and requeues are timers of the shared {@link TimingWheel}.
+ */
+@Slf4j
+final class WorkQueue implements DispatchExecutor {
+
+    private final Executor executor;
+    private final int workers;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final TimingWheel timers;
+    private final RetryPolicy retryPolicy;
+    private final DeadLetterHandler deadLetterHandler;
+    private final LaneMetrics metrics;
+    private final WorkQueueMetrics workQueueMetrics;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * The items by namespace/name, the items of tasks without an object by their method.
+     */
+    private final Map<Object, Item> items = new HashMap<>();
+
+    private final ArrayDeque<Item> ready = new ArrayDeque<>();
+    private final Map<RequeueKey, Requeue> requeues = new HashMap<>();
+    private int running;
+    private int queued;
+
+    /**
+     * @param workers maximum number of objects handled at the same time
+     * @param capacity maximum number of queued tasks before the {@code overflowPolicy} applies
+     * @param deadLetterHandler receives the tasks which failed after the last retry, {@code null} to log them
+     */
+    WorkQueue(
+            Executor executor,
+            int workers,
+            int capacity,
+            OverflowPolicy overflowPolicy,
+            TimingWheel timers,
+            RetryPolicy retryPolicy,
+            DeadLetterHandler deadLetterHandler,
+            LaneMetrics metrics,
+            WorkQueueMetrics workQueueMetrics) {
+        this.executor = executor;
+        this.workers = workers;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.timers = timers;
+        this.retryPolicy = retryPolicy;
+        this.deadLetterHandler = deadLetterHandler;
+        this.metrics = metrics;
+        this.workQueueMetrics = workQueueMetrics;
+    }
+
+    @Override
+    public void execute(DispatchTask task) {
+        execute(task, true, true);
+    }
+
+    @Override
+    public boolean offer(DispatchTask task) {
+        return execute(task, true, false);
+    }
+
+    /**
+     * @param bounded whether the task is subject to the capacity, requeues are not
+     * @param wait whether to wait for space with the BLOCK and COALESCE policies, otherwise the task is not submitted
+     * @return whether the task was submitted, merged or dropped
+     */
+    private boolean execute(DispatchTask task, boolean bounded, boolean wait) {
+        Object key = itemKey(task);
+        List<Item> started;
+        lock.lock();
+        try {
+            while (true) {
+                Item item = items.get(key);
+                if (item != null && item.merge(task)) {
+                    metrics.coalesced().increment();
+                    return true;
+                }
+                if (!bounded || queued < capacity) {
+                    break;
+                }
+                switch (overflowPolicy) {
+                    case BLOCK, COALESCE -> {
+                        if (!wait) {
+                            return false;
+                        }
+                        notFull.awaitUninterruptibly();
+                    }
+                    case DROP_OLDEST -> {
+                        if (!dropOldest()) {
+                            drop(task);
+                            return true;
+                        }
+                    }
+                    case DROP_NEWEST -> {
+                        drop(task);
+                        return true;
+                    }
+                }
+            }
+            Item item = items.computeIfAbsent(key, Item::new);
+            item.add(task);
+            queued++;
+            metrics.queued().incrementAndGet();
+            markReady(item);
+            started = startWorkers();
+        } finally {
+            lock.unlock();
+        }
+        start(started);
+        return true;
+    }
+
+    @Override
+    public void delete(Object obj, List<DispatchTask> tasks) {
+        tasks.forEach(this::execute);
+    }
+
+    @Override
+    public boolean isCoalescing() {
+        return false;
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void process(Item item) {
+        DispatchTask task;
+        lock.lock();
+        try {
+            task = item.tasks.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+        RuntimeException error = null;
+        Duration requeueAfter = null;
+        try {
+            requeueAfter = task.call();
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        boolean exhausted = false;
+        List<Item> started;
+        lock.lock();
+        try {
+            item.inFlight = false;
+            running--;
+            if (error != null && item.failures < retryPolicy.getMaxRetries()) {
+                item.failures++;
+                retry(item, task, error);
+            } else {
+                exhausted = error != null;
+                item.failures = 0;
+                item.tasks.pollFirst();
+                dequeued(1);
+                if (requeueAfter != null && task.key() != null) {
+                    requeueAfter(new RequeueKey(task.getInvoker(), task.key()), task, requeueAfter);
+                }
+            }
+            markReady(item);
+            started = startWorkers();
+        } finally {
+            lock.unlock();
+        }
+        if (exhausted) {
+            deadLetter(task, error);
+        }
+        start(started);
+    }
+
+    // called with the lock held
+    private void retry(Item item, DispatchTask task, RuntimeException error) {
+        long delayNanos = retryPolicy.delayNanos(item.failures);
+        log.warn(
+                "Handling {} failed, retry {} of {} in {}ms: {}",
+                task,
+                item.failures,
+                retryPolicy.getMaxRetries(),
+                TimeUnit.NANOSECONDS.toMillis(delayNanos),
+                error.toString());
+        workQueueMetrics.retries().increment();
+        item.waiting = true;
+        try {
+            timers.schedule(() -> wakeUp(item), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (IllegalStateException e) {
+            log.debug("Dispatcher is stopped, discarding {} queued events of {}", item.tasks.size(), item.key);
+            discard(item);
+        }
+    }
+
+    // called with the lock held
+    private void requeueAfter(RequeueKey key, DispatchTask task, Duration delay) {
+        long delayNanos = Math.max(0, delay.toNanos());
+        long due = System.nanoTime() + delayNanos;
+        Requeue existing = requeues.get(key);
+        if (existing != null) {
+            if (existing.due - due <= 0) {
+                return;
+            }
+            existing.timeout.cancel();
+        }
+        Requeue requeue = new Requeue(due);
+        try {
+            requeue.timeout = timers.schedule(() -> fireRequeue(key, requeue, task), delayNanos, TimeUnit.NANOSECONDS);
+            requeues.put(key, requeue);
+        } catch (IllegalStateException e) {
+            log.debug("Dispatcher is stopped, {} is not requeued", task);
+        }
+    }
+
+    private void fireRequeue(RequeueKey key, Requeue requeue, DispatchTask task) {
+        lock.lock();
+        try {
+            // replaced by an earlier requeue
+            if (!requeues.remove(key, requeue)) {
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        workQueueMetrics.requeued().increment();
+        execute(task, false, true);
+    }
+
+    private void wakeUp(Item item) {
+        List<Item> started;
+        lock.lock();
+        try {
+            item.waiting = false;
+            markReady(item);
+            started = startWorkers();
+        } finally {
+            lock.unlock();
+        }
+        start(started);
+    }
+
+    // called with the lock held
+    private void markReady(Item item) {
+        if (item.inFlight || item.waiting || item.inReady) {
+            return;
+        }
+        if (item.tasks.isEmpty()) {
+            items.remove(item.key, item);
+            return;
+        }
+        item.inReady = true;
+        ready.addLast(item);
+    }
+
+    // called with the lock held, the items are handed to the executor after the lock is released
+    private List<Item> startWorkers() {
+        List<Item> started = null;
+        while (running < workers && !ready.isEmpty()) {
+            Item item = ready.pollFirst();
+            item.inReady = false;
+            item.inFlight = true;
+            // a running task takes no further events, they are merged into the next one of the method
+            DispatchTask head = item.tasks.peekFirst();
+            item.pending.remove(head.getInvoker(), head);
+            running++;
+            if (started == null) {
+                started = new ArrayList<>(1);
+            }
+            started.add(item);
+        }
+        return started == null ? List.of() : started;
+    }
+
+    private void start(List<Item> started) {
+        for (Item item : started) {
+            try {
+                executor.execute(() -> process(item));
+            } catch (RejectedExecutionException e) {
+                lock.lock();
+                try {
+                    log.debug("Dispatcher is stopped, discarding {} queued events of {}", item.tasks.size(), item.key);
+                    item.inFlight = false;
+                    running--;
+                    discard(item);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // called with the lock held
+    private void discard(Item item) {
+        dequeued(item.tasks.size());
+        metrics.dropped().add(item.tasks.size());
+        item.tasks.clear();
+        item.pending.clear();
+        item.waiting = false;
+        items.remove(item.key, item);
+    }
+
+    /**
+     * Drops the head of the object which waits longest for a worker, returns {@code false} if no object waits. Called
+     * with the lock held.
+     */
+    private boolean dropOldest() {
+        Item item = ready.peekFirst();
+        if (item == null) {
+            return false;
+        }
+        DispatchTask task = item.tasks.pollFirst();
+        item.pending.remove(task.getInvoker(), task);
+        item.failures = 0;
+        dequeued(1);
+        drop(task);
+        if (item.tasks.isEmpty()) {
+            ready.pollFirst();
+            item.inReady = false;
+            items.remove(item.key, item);
+        }
+        return true;
+    }
+
+    // called with the lock held
+    private void drop(DispatchTask task) {
+        metrics.dropped().increment();
+        log.debug("Work queue is full, dropping {}", task);
+    }
+
+    // called with the lock held
+    private void dequeued(int tasks) {
+        queued -= tasks;
+        metrics.queued().addAndGet(-tasks);
+        notFull.signalAll();
+    }
+
+    /**
+     * Tasks of an object are queued by its namespace/name, tasks without an object, the batches, by their method.
+     */
+    private static Object itemKey(DispatchTask task) {
+        String key = task.key();
+        return key == null ? task.getInvoker() : key;
+    }
+
+    private void deadLetter(DispatchTask task, RuntimeException error) {
+        workQueueMetrics.deadLettered().increment();
+        if (deadLetterHandler == null) {
+            log.error("Giving up on {} after {} retries", task, retryPolicy.getMaxRetries(), error);
+            return;
+        }
+        try {
+            deadLetterHandler.onDeadLetter(task.getInvoker().getMethod(), task.toResourceEvent(), error);
+        } catch (RuntimeException e) {
+            log.error("Dead letter handler failed for {}", task, e);
+        }
+    }
+
+    /**
+     * A key requeued by one reconcile method, the requeues of different methods are independent.
+     */
+    private record RequeueKey(WatchMethodInvoker invoker, String key) {}
+
+    /**
+     * The pending requeue of a key, {@code due} is a {@link System#nanoTime()} value.
+     */
+    private static final class Requeue {
+
+        private final long due;
+        private TimingWheel.Timeout timeout;
+
+        Requeue(long due) {
+            this.due = due;
+        }
+    }
+
+    /**
+     * The queued tasks of one object, or of one method for tasks without an object. The head is the task being
+     * handled or waiting for its retry.
+     */
+    private static final class Item {
+
+        private final Object key;
+        private final ArrayDeque<DispatchTask> tasks = new ArrayDeque<>(2);
+
+        /**
+         * The queued tasks which are not running yet and take the newer events of their method.
+         */
+        private final Map<WatchMethodInvoker, DispatchTask> pending = new HashMap<>(2);
+        private int failures;
+        private boolean inFlight;
+        private boolean waiting;
+        private boolean inReady;
+
+        Item(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Merges an UPDATE, RESYNC or reconcile into the waiting task of the same method, which is replaced in place.
+         * Every method has at most one waiting task per object, also when the tasks of several methods alternate.
+         * Reconcile methods read the latest state when they run, a reconcile queued behind a running one absorbs all
+         * further events of the key.
+         *
+         * @return {@code true} if the task was merged
+         */
+        boolean merge(DispatchTask task) {
+            DispatchTask waiting = isMergeable(task) ? pending.get(task.getInvoker()) : null;
+            if (waiting == null) {
+                return false;
+            }
+            waiting.merge(task);
+            return true;
+        }
+
+        /**
+         * Appends a task which was not merged. An ADD or DELETE keeps the order of the events: later UPDATEs and
+         * RESYNCs are not merged into tasks queued before it.
+         */
+        void add(DispatchTask task) {
+            if (isMergeable(task)) {
+                pending.put(task.getInvoker(), task);
+            } else {
+                pending.values().removeIf(waiting -> !waiting.getInvoker().isReconcile());
+            }
+            tasks.addLast(task);
+        }
+
+        private static boolean isMergeable(DispatchTask task) {
+            WatchMethodInvoker invoker = task.getInvoker();
+            return !invoker.isBatch()
+                    && (invoker.isReconcile() || task.event() == EventType.UPDATE || task.event() == EventType.RESYNC);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.k8swatcher.annotation.metrics.InformerMetrics;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the {@link WorkQueue}s of one watched resource, in addition to their {@link LaneMetrics}.
+ */
+record WorkQueueMetrics(LongAdder retries, LongAdder deadLettered, LongAdder requeued) {
+
+    static WorkQueueMetrics register(InformerMetrics metrics, String name) {
+        return new WorkQueueMetrics(
+                metrics.counter("dispatch." + name + ".retries"),
+                metrics.counter("dispatch." + name + ".deadLettered"),
+                metrics.counter("dispatch." + name + ".requeued"));
+    }
+
+    static WorkQueueMetrics unregistered() {
+        return new WorkQueueMetrics(new LongAdder(), new LongAdder(), new LongAdder());
+    }
+}
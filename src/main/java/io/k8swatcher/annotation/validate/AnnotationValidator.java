@@ -16,19 +16,35 @@
 package io.k8swatcher.annotation.validate;
 
 import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.k8swatcher.annotation.Change;
 import io.k8swatcher.annotation.EventType;
 import io.k8swatcher.annotation.Informer;
+import io.k8swatcher.annotation.Reconcile;
+import io.k8swatcher.annotation.ResourceEvent;
 import io.k8swatcher.annotation.Watch;
+import io.k8swatcher.annotation.cfg.FieldSelector;
+import io.k8swatcher.annotation.cfg.InformerConfiguration;
 import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
+import io.k8swatcher.annotation.cfg.LabelSelector;
 import io.k8swatcher.annotation.processor.KubeClientFactory;
 import jakarta.annotation.PostConstruct;
 import java.lang.reflect.MalformedParametersException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
@@ -36,6 +52,18 @@ import org.springframework.util.StringUtils;
 @Slf4j
 public class AnnotationValidator {
 
+    /**
+     * The fields an informer with {@link Informer#fields()} caches in addition to the given ones.
+     */
+    private static final List<String> PROJECTED_FIELDS = List.of(
+            "apiVersion",
+            "kind",
+            "metadata.name",
+            "metadata.namespace",
+            "metadata.uid",
+            "metadata.resourceVersion",
+            "metadata.generation");
+
     private final ApplicationContext ctx;
     private final KubeClientFactory clients;
     private Map<String, Object> informerBeansMap;
@@ -65,6 +93,86 @@ public class AnnotationValidator {
                 throw new RuntimeException("Could not find Kubernetes client with name " + informer.clientName());
             }
             validateLabels(informer, beanClass);
+            if (informer.clusterWatchThreshold() < 0) {
+                throw new IllegalArgumentException("clusterWatchThreshold in class " + beanClass.getName()
+                        + " must not be negative, got " + informer.clusterWatchThreshold());
+            }
+            if (informer.hotCacheSize() < 0) {
+                throw new IllegalArgumentException("hotCacheSize in class " + beanClass.getName()
+                        + " must not be negative, got " + informer.hotCacheSize());
+            }
+            if (informer.poolSize() < 0) {
+                throw new IllegalArgumentException("poolSize in class " + beanClass.getName()
+                        + " must not be negative, got " + informer.poolSize());
+            }
+            if (informer.maxConcurrency() < 0) {
+                throw new IllegalArgumentException("maxConcurrency in class " + beanClass.getName()
+                        + " must not be negative, got " + informer.maxConcurrency());
+            }
+            if (informer.queueCapacity() < 0) {
+                throw new IllegalArgumentException("queueCapacity in class " + beanClass.getName()
+                        + " must not be negative, got " + informer.queueCapacity());
+            }
+            validateRetries(informer, beanClass);
+            validateCacheTransforms(informer, beanClass);
+        }
+    }
+
+    private void validateCacheTransforms(Informer informer, Class<?> beanClass) {
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        for (String field : fields(beanClass)) {
+            if (!isPath(field)) {
+                throw new IllegalArgumentException("Invalid field '" + field + "' in class " + beanClass.getName()
+                        + ". Format has to be e.g. status.phase");
+            }
+        }
+        List<String> stripAnnotations = configuration == null ? List.of() : configuration.getStripAnnotations();
+        if (stripAnnotations.isEmpty()) {
+            stripAnnotations = List.of(informer.stripAnnotations());
+        }
+        for (String pattern : stripAnnotations) {
+            try {
+                Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid stripAnnotations pattern '" + pattern + "' in class "
+                        + beanClass.getName() + ": " + e.getMessage());
+            }
+        }
+        List<String> transforms = configuration == null ? List.of() : configuration.getTransforms();
+        if (transforms.isEmpty()) {
+            transforms = List.of(informer.transforms());
+        }
+        for (String transform : transforms) {
+            if (!ctx.containsBean(transform) || !ctx.isTypeMatch(transform, Consumer.class)) {
+                throw new IllegalArgumentException("transform " + transform + " in class " + beanClass.getName()
+                        + " is not a Consumer bean");
+            }
+        }
+    }
+
+    private void validateRetries(Informer informer, Class<?> beanClass) {
+        if (informer.maxRetries() < 0) {
+            throw new IllegalArgumentException("maxRetries in class " + beanClass.getName()
+                    + " must not be negative, got " + informer.maxRetries());
+        }
+        if (informer.retryBaseDelayMs() < 0 || informer.retryMaxDelayMs() < informer.retryBaseDelayMs()) {
+            throw new IllegalArgumentException("retryBaseDelayMs and retryMaxDelayMs in class " + beanClass.getName()
+                    + " must satisfy 0 <= retryBaseDelayMs <= retryMaxDelayMs, got " + informer.retryBaseDelayMs()
+                    + " and " + informer.retryMaxDelayMs());
+        }
+        if (informer.retryRateLimit() < 0 || informer.retryBurst() < 1) {
+            throw new IllegalArgumentException("retryRateLimit in class " + beanClass.getName()
+                    + " must not be negative and retryBurst must be positive, got " + informer.retryRateLimit()
+                    + " and " + informer.retryBurst());
+        }
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        String deadLetterHandler = configuration == null ? null : configuration.getDeadLetterHandler();
+        if (deadLetterHandler == null || deadLetterHandler.isEmpty()) {
+            deadLetterHandler = informer.deadLetterHandler();
+        }
+        if (!deadLetterHandler.isEmpty() && !ctx.containsBean(deadLetterHandler)) {
+            throw new IllegalArgumentException("deadLetterHandler " + deadLetterHandler + " in class "
+                    + beanClass.getName() + " is not a bean");
         }
     }
 
@@ -75,16 +183,31 @@ public class AnnotationValidator {
             List<Method> k8watchMethods = Arrays.stream(methods)
                     .filter(method -> method.isAnnotationPresent(Watch.class))
                     .toList();
-            if (k8watchMethods.isEmpty()) {
-                log.warn("No @Watch annotated methods found in class {}", beanClass.getName());
+            List<Method> reconcileMethods = Arrays.stream(methods)
+                    .filter(method -> method.isAnnotationPresent(Reconcile.class))
+                    .toList();
+            if (k8watchMethods.isEmpty() && reconcileMethods.isEmpty()) {
+                log.warn("No @Watch or @Reconcile annotated methods found in class {}", beanClass.getName());
+            }
+            if (isStreaming(beanClass)) {
+                checkStreaming(beanClass, k8watchMethods, reconcileMethods);
+            }
+            for (Method method : reconcileMethods) {
+                checkReconcileMethod(beanClass, method);
             }
             for (Method method : k8watchMethods) {
                 Watch watch = method.getAnnotation(Watch.class);
                 Class<? extends KubernetesResource> resource = watch.resource();
                 EventType event = watch.event();
 
+                checkChangeFilter(beanClass, method, watch);
+                checkFilter(beanClass, method, watch);
+                if (watch.batchSize() != 0) {
+                    checkBatchParams(beanClass, method, watch);
+                    continue;
+                }
                 switch (event) {
-                    case ADD -> checkAddParams(beanClass, method, resource);
+                    case ADD, RESYNC -> checkAddParams(beanClass, method, resource);
                     case UPDATE -> checkUpdateParams(beanClass, method, resource);
                     case DELETE -> checkDeleteParams(beanClass, method, resource);
                 }
@@ -92,6 +215,36 @@ public class AnnotationValidator {
         }
     }
 
+    private void checkReconcileMethod(Class<?> beanClass, Method method) {
+        Reconcile reconcile = method.getAnnotation(Reconcile.class);
+        if (method.isAnnotationPresent(Watch.class)) {
+            throw new IllegalArgumentException("Method " + method.getName() + " in class " + beanClass.getName()
+                    + " can not be annotated with both @Watch and @Reconcile");
+        }
+        if (reconcile.maxConcurrent() < 1) {
+            throw new IllegalArgumentException("maxConcurrent of method " + method.getName() + " in class "
+                    + beanClass.getName() + " must be positive, got " + reconcile.maxConcurrent());
+        }
+        if (method.getReturnType() != void.class && method.getReturnType() != Duration.class) {
+            throw new IllegalArgumentException("Reconcile method " + method.getName() + " in class "
+                    + beanClass.getName() + " must return void or Duration, got " + method.getReturnType().getName());
+        }
+        Class<? extends KubernetesResource> type = reconcile.resource();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        boolean valid = parameterTypes.length >= 1
+                && parameterTypes.length <= 2
+                && parameterTypes[0] == String.class
+                && (parameterTypes.length == 1
+                        || parameterTypes[1].isAssignableFrom(type)
+                        || parameterTypes[1] == PartialObjectMetadata.class && isMetadataOnly(beanClass));
+        if (!valid) {
+            throw new MalformedParametersException("Invalid parameters for reconcile method " + method.getName()
+                    + " in class " + beanClass.getName() + ". Signature should be " + method.getName()
+                    + "(String key) or " + method.getName() + "(String key, " + type.getSimpleName() + " "
+                    + type.getSimpleName().toLowerCase() + ")");
+        }
+    }
+
     public void validateHasConfigName() {
         for (Object bean : informerBeansMap.values()) {
             Class<?> beanClass = bean.getClass();
@@ -158,8 +311,164 @@ public class AnnotationValidator {
         }
     }
 
+    private void checkChangeFilter(Class<?> beanClass, Method method, Watch watch) {
+        if (watch.event() != EventType.UPDATE && (watch.changes().length > 0 || watch.changedPaths().length > 0)) {
+            throw new IllegalArgumentException("changes and changedPaths of method " + method.getName() + " in class "
+                    + beanClass.getName() + " are only supported for UPDATE, got " + watch.event());
+        }
+        for (Change change : watch.changes()) {
+            String path = switch (change) {
+                case GENERATION -> "metadata.generation";
+                case LABELS -> "metadata.labels";
+                case ANNOTATIONS -> "metadata.annotations";
+            };
+            if (!isCached(path, fields(beanClass))) {
+                throw new IllegalArgumentException("change " + change + " of method " + method.getName()
+                        + " in class " + beanClass.getName() + " is not cached, " + path
+                        + " is not part of the informer fields");
+            }
+        }
+        for (String path : watch.changedPaths()) {
+            if (!isPath(path)) {
+                throw new IllegalArgumentException("Invalid changedPath '" + path + "' of method " + method.getName()
+                        + " in class " + beanClass.getName() + ". Format has to be e.g. status.phase");
+            }
+            if (!path.startsWith("metadata.") && isMetadataOnly(beanClass)) {
+                throw new IllegalArgumentException("changedPath '" + path + "' of method " + method.getName()
+                        + " in class " + beanClass.getName() + " is not cached, the informer is metadataOnly");
+            }
+            if (!isCached(path, fields(beanClass))) {
+                throw new IllegalArgumentException("changedPath '" + path + "' of method " + method.getName()
+                        + " in class " + beanClass.getName() + " is not cached, it is not part of the informer fields");
+            }
+        }
+    }
+
+    private static boolean isPath(String path) {
+        return StringUtils.hasText(path) && Arrays.stream(path.split("\\.", -1)).noneMatch(String::isBlank);
+    }
+
+    /**
+     * Whether the path is kept by the {@link Informer#fields()} projection, a path leading to a projected field is
+     * kept in part.
+     */
+    private static boolean isCached(String path, List<String> fields) {
+        return fields.isEmpty()
+                || Stream.concat(PROJECTED_FIELDS.stream(), fields.stream())
+                        .anyMatch(field -> path.equals(field)
+                                || path.startsWith(field + ".")
+                                || field.startsWith(path + "."));
+    }
+
+    private List<String> fields(Class<?> beanClass) {
+        Informer informer = beanClass.getAnnotation(Informer.class);
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        List<String> fields = configuration == null ? List.of() : configuration.getFields();
+        return fields.isEmpty() ? List.of(informer.fields()) : fields;
+    }
+
+    /**
+     * Streaming informers have no cache, which {@link Reconcile} methods read and RESYNC events are taken from.
+     */
+    private void checkStreaming(Class<?> beanClass, List<Method> watchMethods, List<Method> reconcileMethods) {
+        if (!reconcileMethods.isEmpty()) {
+            throw new IllegalArgumentException("Reconcile method " + reconcileMethods.get(0).getName() + " in class "
+                    + beanClass.getName() + " is not supported, the informer is streaming");
+        }
+        for (Method method : watchMethods) {
+            if (method.getAnnotation(Watch.class).event() == EventType.RESYNC) {
+                throw new IllegalArgumentException("RESYNC method " + method.getName() + " in class "
+                        + beanClass.getName() + " is not supported, the informer is streaming");
+            }
+        }
+    }
+
+    private boolean isStreaming(Class<?> beanClass) {
+        Informer informer = beanClass.getAnnotation(Informer.class);
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        Boolean streaming = configuration == null ? null : configuration.getStreaming();
+        return streaming == null ? informer.streaming() : streaming;
+    }
+
+    private boolean isMetadataOnly(Class<?> beanClass) {
+        Informer informer = beanClass.getAnnotation(Informer.class);
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        Boolean metadataOnly = configuration == null ? null : configuration.getMetadataOnly();
+        return metadataOnly == null ? informer.metadataOnly() : metadataOnly;
+    }
+
+    private void checkFilter(Class<?> beanClass, Method method, Watch watch) {
+        String filter = watch.filter();
+        if (filter.isBlank() || ctx.containsBean(filter)) {
+            return;
+        }
+        try {
+            new SpelExpressionParser().parseExpression(filter);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid filter '" + filter + "' of method " + method.getName()
+                    + " in class " + beanClass.getName() + ". It has to be a Predicate bean name or a SpEL expression: "
+                    + e.getMessage());
+        }
+    }
+
+    private void checkBatchParams(Class<?> beanClass, Method method, Watch watch) {
+        if (watch.batchSize() < 0) {
+            throw new IllegalArgumentException("batchSize of method " + method.getName() + " in class "
+                    + beanClass.getName() + " must not be negative, got " + watch.batchSize());
+        }
+        if (watch.batchWindowMs() <= 0) {
+            throw new IllegalArgumentException("batchWindowMs of method " + method.getName() + " in class "
+                    + beanClass.getName() + " must be positive, got " + watch.batchWindowMs());
+        }
+        Class<? extends KubernetesResource> type = watch.resource();
+        String element = watch.event() == EventType.UPDATE
+                ? "ResourceEvent<" + type.getSimpleName() + ">"
+                : type.getSimpleName();
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        if (parameterTypes.length != 1
+                || !(parameterTypes[0] instanceof ParameterizedType list)
+                || !rawClass(list).isAssignableFrom(List.class)) {
+            throw new MalformedParametersException("Invalid parameters for batched method " + method.getName()
+                    + " in class " + beanClass.getName() + ". Signature should be " + method.getName() + "(List<"
+                    + element + "> events)");
+        }
+        Type elementType = upperBound(list.getActualTypeArguments()[0]);
+        if (rawClass(elementType) == ResourceEvent.class) {
+            Type eventType = elementType instanceof ParameterizedType resourceEvent
+                    ? upperBound(resourceEvent.getActualTypeArguments()[0])
+                    : Object.class;
+            checkIsAssignableFrom(beanClass, method, rawClass(eventType), type);
+        } else if (watch.event() == EventType.UPDATE) {
+            throw new MalformedParametersException("Batched UPDATE method " + method.getName() + " in class "
+                    + beanClass.getName() + " must take List<" + element + ">");
+        } else {
+            checkIsAssignableFrom(beanClass, method, rawClass(elementType), type);
+        }
+    }
+
+    private static Type upperBound(Type type) {
+        return type instanceof WildcardType wildcard ? wildcard.getUpperBounds()[0] : type;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return rawClass(parameterized.getRawType());
+        }
+        return Object.class;
+    }
+
     private void checkIsAssignableFrom(
             Class<?> beanClass, Method method, Class<?> param, Class<? extends KubernetesResource> type) {
+        if (param == PartialObjectMetadata.class && !PartialObjectMetadata.class.isAssignableFrom(type)) {
+            if (!isMetadataOnly(beanClass)) {
+                throw new MalformedParametersException("PartialObjectMetadata parameter of method "
+                        + method.getName() + " in class " + beanClass.getName() + " requires metadataOnly = true");
+            }
+            return;
+        }
         if (!param.isAssignableFrom(type)) {
             throw new MalformedParametersException(param.getTypeName()
                     + " is not a type or subtype of "
@@ -178,32 +487,91 @@ public class AnnotationValidator {
 
         Consumer<String[]> validateLabel =
                 (String[] labels) -> Arrays.asList(labels).forEach(label -> {
-                    String[] splittedLabel = label.split("=");
-                    if (splittedLabel.length != 2) {
+                    try {
+                        LabelSelector.parse(label);
+                    } catch (IllegalArgumentException e) {
                         throw new MalformedParametersException("Invalid label for "
                                 + label
-                                + "in class "
+                                + " in class "
                                 + beanClass.getName()
-                                + ". Format has to be key=value");
+                                + ". Format has to be key=value, key!=value, key in (a,b), key notin (a,b),"
+                                + " key or !key");
                     }
                 });
         validateLabel.accept(nsLabels);
         validateLabel.accept(resLabels);
 
-        checkForDuplicateKey(nsNames, beanClass);
-        checkForDuplicateKey(nsLabels, beanClass);
-        checkForDuplicateKey(resLabels, beanClass);
+        checkForDuplicateNames(nsNames, beanClass);
+        checkForConflictingKeys(parse(Map.of(), List.of(nsLabels)), beanClass);
+        checkForConflictingKeys(parse(Map.of(), List.of(resLabels)), beanClass);
+
+        List<String> fieldSelectors = new ArrayList<>(List.of(informer.fieldSelectors()));
+        InformerConfiguration configuration = informerConfigurationProperty.getConfig().get(informer.name());
+        if (configuration != null) {
+            validateLabel.accept(configuration.getNsLabelSelectors().toArray(String[]::new));
+            validateLabel.accept(configuration.getResLabelSelectors().toArray(String[]::new));
+            checkForConflictingKeys(
+                    parse(configuration.getNsLabels(), configuration.getNsLabelSelectors()), beanClass);
+            checkForConflictingKeys(
+                    parse(configuration.getResLabels(), configuration.getResLabelSelectors()), beanClass);
+            fieldSelectors.addAll(configuration.getFieldSelectors());
+        }
+        for (String fieldSelector : fieldSelectors) {
+            try {
+                FieldSelector.parse(fieldSelector);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedParametersException(e.getMessage() + " in class " + beanClass.getName());
+            }
+        }
     }
 
-    private void checkForDuplicateKey(String[] labelValues, Class<?> beanClass) {
-        List<String> keys =
-                Arrays.stream(labelValues).map(value -> value.split("=")[0]).toList();
-        Set<String> keySet = new HashSet<>(keys);
-        if (keySet.size() < keys.size()) {
-            throw new IllegalArgumentException("Duplicate key found in "
+    private void checkForDuplicateNames(String[] nsNames, Class<?> beanClass) {
+        List<String> names = Arrays.asList(nsNames);
+        if (new HashSet<>(names).size() < names.size()) {
+            throw new IllegalArgumentException("Duplicate namespace found in "
                     + beanClass.getName()
-                    + ". You cannot define the same key. You defined the following keys: "
-                    + keys.stream().sorted().toList());
+                    + ". You cannot define the same namespace twice. You defined the following namespaces: "
+                    + names.stream().sorted().toList());
+        }
+    }
+
+    /**
+     * Returns the requirements of a label map and a list of label selectors, the map entries are key=value.
+     */
+    private static List<LabelSelector> parse(Map<String, String> labels, List<String> labelSelectors) {
+        List<LabelSelector> selectors = new ArrayList<>();
+        labels.forEach((key, value) ->
+                selectors.add(new LabelSelector(key, LabelSelector.Operator.EQUALS, List.of(value))));
+        labelSelectors.stream().map(LabelSelector::parse).forEach(selectors::add);
+        return selectors;
+    }
+
+    /**
+     * The requirements of a selector are ANDed. Per key any number of exclusions ({@code key!=value},
+     * {@code key notin (a,b)}) may be combined with at most one {@code key in (a,b)} or {@code key}. A
+     * {@code key=value} or {@code !key} has to be the only requirement of its key: it either repeats or contradicts
+     * every other one, and the key=value labels are sent as a map which holds one value per key.
+     */
+    private void checkForConflictingKeys(List<LabelSelector> selectors, Class<?> beanClass) {
+        Map<String, List<LabelSelector>> byKey = new TreeMap<>();
+        for (LabelSelector selector : selectors) {
+            byKey.computeIfAbsent(selector.key(), key -> new ArrayList<>()).add(selector);
         }
+        byKey.forEach((key, requirements) -> {
+            long inclusions = requirements.stream()
+                    .filter(selector -> selector.operator() != LabelSelector.Operator.NOT_EQUALS
+                            && selector.operator() != LabelSelector.Operator.NOT_IN)
+                    .count();
+            boolean exclusive = requirements.stream()
+                    .anyMatch(selector -> selector.operator() == LabelSelector.Operator.EQUALS
+                            || selector.operator() == LabelSelector.Operator.DOES_NOT_EXIST);
+            if (inclusions > 1 || (exclusive && requirements.size() > 1)) {
+                throw new IllegalArgumentException("Duplicate key " + key + " found in "
+                        + beanClass.getName()
+                        + ". key=value and !key have to be the only requirement of a key, key in (a,b) and key"
+                        + " can be combined with key!=value and key notin (a,b). You defined: "
+                        + requirements);
+            }
+        });
     }
 }
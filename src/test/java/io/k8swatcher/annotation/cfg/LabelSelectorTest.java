@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.cfg;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.k8swatcher.annotation.cfg.LabelSelector.Operator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LabelSelectorTest {
+
+    @Test
+    void parse_equalityRequirements() {
+        assertEquals(new LabelSelector("app", Operator.EQUALS, List.of("foo")), LabelSelector.parse("app=foo"));
+        assertEquals(new LabelSelector("app", Operator.EQUALS, List.of("foo")), LabelSelector.parse("app == foo"));
+        assertEquals(
+                new LabelSelector("app", Operator.NOT_EQUALS, List.of("foo")), LabelSelector.parse("app!=foo"));
+        assertEquals(
+                new LabelSelector("myApp/xy", Operator.EQUALS, List.of("")), LabelSelector.parse("myApp/xy="));
+    }
+
+    @Test
+    void parse_setRequirements() {
+        assertEquals(
+                new LabelSelector("tier", Operator.IN, List.of("web", "api")),
+                LabelSelector.parse("tier in (web, api)"));
+        assertEquals(
+                new LabelSelector("env", Operator.NOT_IN, List.of("dev")), LabelSelector.parse("env notin (dev)"));
+    }
+
+    @Test
+    void parse_existenceRequirements() {
+        assertEquals(new LabelSelector("canary", Operator.EXISTS, List.of()), LabelSelector.parse("canary"));
+        assertEquals(
+                new LabelSelector("canary", Operator.DOES_NOT_EXIST, List.of()), LabelSelector.parse("!canary"));
+    }
+
+    @Test
+    void parse_rejectsInvalidSyntax() {
+        assertThrows(IllegalArgumentException.class, () -> LabelSelector.parse("app:foo"));
+        assertThrows(IllegalArgumentException.class, () -> LabelSelector.parse("tier in web"));
+        assertThrows(IllegalArgumentException.class, () -> LabelSelector.parse("tier in (web,a b)"));
+        assertThrows(IllegalArgumentException.class, () -> LabelSelector.parse(""));
+    }
+
+    @Test
+    void toString_rendersCanonicalForm() {
+        assertEquals("tier in (web,api)", LabelSelector.parse("tier in ( web , api )").toString());
+        assertEquals("env notin (dev)", LabelSelector.parse("env notin(dev)").toString());
+        assertEquals("app!=foo", LabelSelector.parse("app != foo").toString());
+        assertEquals("!canary", LabelSelector.parse("! canary").toString());
+    }
+}
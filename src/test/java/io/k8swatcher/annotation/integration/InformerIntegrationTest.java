@@ -31,6 +31,8 @@ import io.k8swatcher.annotation.Informer;
 import io.k8swatcher.annotation.Watch;
 import io.k8swatcher.annotation.cfg.InformerConfiguration;
 import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
+import io.k8swatcher.annotation.metrics.InformerMetrics;
+import io.k8swatcher.annotation.processor.EventDispatcher;
 import io.k8swatcher.annotation.processor.InformerCreator;
 import io.k8swatcher.annotation.processor.KubeClientFactory;
 import io.k8swatcher.annotation.validate.AnnotationValidator;
@@ -266,7 +268,8 @@ class InformerIntegrationTest {
         when(ctx.getBeansWithAnnotation(Informer.class)).thenReturn(Map.of("simpleBean", new SimpleInformerBean()));
         when(ctx.getBean(SimpleInformerBean.class)).thenReturn(new SimpleInformerBean());
 
-        InformerCreator informerCreator = new InformerCreator(ctx, cfgProp, kubeClientFactory);
+        InformerCreator informerCreator =
+                new InformerCreator(ctx, cfgProp, kubeClientFactory, new EventDispatcher(new InformerMetrics()));
 
         List<SharedIndexInformer<?>> informers =
                 org.springframework.test.util.ReflectionTestUtils.invokeMethod(informerCreator, "createInformers");
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class MicrometerMetricsBinderTest {
+
+    private final InformerMetrics metrics = new InformerMetrics();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void afterSingletonsInstantiated_registersExistingAndNewMetricsWithTags() {
+        metrics.counter("dispatch.pod-watcher-Pod.dropped").add(3);
+        ObjectProvider<MeterRegistry> registries =
+                new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class);
+        new MicrometerMetricsBinder(metrics, registries).afterSingletonsInstantiated();
+        AtomicLong queued = new AtomicLong(5);
+        metrics.gauge("dispatch.io.example.PodWatcher-Pod.queued", queued::get);
+        metrics.counter("dispatch.pod-watcher-Pod.filter.PodWatcher.onAdd(Pod).accepted").increment();
+        metrics.gauge("dispatch.timers.pending", () -> 7);
+
+        assertEquals(
+                3,
+                registry.get("k8swatcher.dispatch.dropped")
+                        .tags(Tags.of("bean", "pod-watcher", "resource", "Pod"))
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                5,
+                registry.get("k8swatcher.dispatch.queued")
+                        .tags(Tags.of("bean", "io.example.PodWatcher", "resource", "Pod"))
+                        .gauge()
+                        .value());
+        assertEquals(
+                1,
+                registry.get("k8swatcher.dispatch.filter.accepted")
+                        .tags(Tags.of("method", "PodWatcher.onAdd(Pod)"))
+                        .functionCounter()
+                        .count());
+        assertEquals(7, registry.get("k8swatcher.dispatch.timers.pending").gauge().value());
+    }
+
+    @Test
+    void gauge_registeredAgainReportsTheNewSupplier() {
+        new MicrometerMetricsBinder(metrics, new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class))
+                .bindTo(registry);
+        metrics.gauge("dispatch.bean-Pod.queued", () -> 1);
+        metrics.gauge("dispatch.bean-Pod.queued", () -> 2);
+
+        assertEquals(2, registry.get("k8swatcher.dispatch.queued").gauge().value());
+        assertEquals(1, registry.getMeters().size());
+    }
+}
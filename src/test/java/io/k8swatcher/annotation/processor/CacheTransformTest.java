@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.ManagedFieldsEntryBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+class CacheTransformTest {
+
+    private static final String LAST_APPLIED = "kubectl.kubernetes.io/last-applied-configuration";
+
+    private final LongAdder bytesSaved = new LongAdder();
+
+    @Test
+    void apply_stripsManagedFieldsAndMatchingAnnotations() {
+        Pod pod = pod();
+        CacheTransform<Pod> transform = new CacheTransform<>(
+                false, List.of(), true, Set.of("kubectl\\.kubernetes\\.io/.*"), List.of(), bytesSaved);
+
+        Pod transformed = transform.apply(pod);
+
+        assertSame(pod, transformed);
+        assertNull(pod.getMetadata().getManagedFields());
+        assertEquals(Map.of("team", "a"), pod.getMetadata().getAnnotations());
+        assertEquals("node-1", pod.getSpec().getNodeName());
+        assertTrue(bytesSaved.sum() > LAST_APPLIED.length());
+    }
+
+    @Test
+    void apply_runsUserTransformsAfterTheBuiltInOnes() {
+        Pod pod = pod();
+        Consumer<Pod> dropSpec = obj -> {
+            assertNull(obj.getMetadata().getManagedFields());
+            obj.setSpec(null);
+        };
+        CacheTransform<Pod> transform =
+                new CacheTransform<>(false, List.of(), true, Set.of(), List.of(dropSpec), bytesSaved);
+
+        assertSame(pod, transform.apply(pod));
+        assertNull(pod.getSpec());
+        assertEquals(2, pod.getMetadata().getAnnotations().size());
+    }
+
+    @Test
+    void apply_keepsObjectsWithoutMatches() {
+        Pod pod = pod();
+        pod.getMetadata().setManagedFields(null);
+        CacheTransform<Pod> transform =
+                new CacheTransform<>(false, List.of(), true, Set.of("example\\.com/.*"), List.of(), bytesSaved);
+
+        transform.apply(pod);
+
+        assertEquals(2, pod.getMetadata().getAnnotations().size());
+        assertEquals(0, bytesSaved.sum());
+    }
+
+    private static Pod pod() {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("foo")
+                .withNamespace("ns")
+                .withAnnotations(Map.of(LAST_APPLIED, "{\"apiVersion\":\"v1\",\"kind\":\"Pod\"}", "team", "a"))
+                .withManagedFields(new ManagedFieldsEntryBuilder()
+                        .withManager("kubectl")
+                        .withOperation("Apply")
+                        .withApiVersion("v1")
+                        .withNewFieldsV1()
+                        .addToAdditionalProperties("f:metadata", Map.of("f:labels", Map.of("f:app", Map.of())))
+                        .addToAdditionalProperties("f:spec", Map.of("f:nodeName", Map.of()))
+                        .endFieldsV1()
+                        .build())
+                .endMetadata()
+                .withNewSpec()
+                .withNodeName("node-1")
+                .endSpec()
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.KubernetesResource;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.Change;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Watch;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ChangeFilterTest {
+
+    @Test
+    void of_returnsNull_withoutChangesOrForOtherEvents() throws NoSuchMethodException {
+        assertNull(ChangeFilter.of(TestBean.class.getMethod("onUpdate", Pod.class, Pod.class)));
+        assertNull(ChangeFilter.of(TestBean.class.getMethod("onAdd", Pod.class)));
+    }
+
+    @Test
+    void test_generation() throws NoSuchMethodException {
+        ChangeFilter filter = ChangeFilter.of(TestBean.class.getMethod("onSpecChange", Pod.class, Pod.class));
+
+        assertTrue(filter.test(pod(1L, "Pending"), pod(2L, "Pending")));
+        assertFalse(filter.test(pod(1L, "Pending"), pod(1L, "Running")));
+    }
+
+    @Test
+    void test_labels() throws NoSuchMethodException {
+        ChangeFilter filter = ChangeFilter.of(TestBean.class.getMethod("onLabelChange", Pod.class, Pod.class));
+        Pod oldPod = pod(1L, "Pending");
+        Pod newPod = pod(1L, "Running");
+        newPod.getMetadata().setLabels(Map.of("app", "foo"));
+
+        assertTrue(filter.test(oldPod, newPod));
+        assertFalse(filter.test(oldPod, pod(1L, "Running")));
+    }
+
+    @Test
+    void test_path() throws NoSuchMethodException {
+        ChangeFilter filter = ChangeFilter.of(TestBean.class.getMethod("onPhaseChange", Pod.class, Pod.class));
+
+        assertTrue(filter.test(pod(1L, "Pending"), pod(1L, "Running")));
+        assertFalse(filter.test(pod(1L, "Pending"), pod(2L, "Pending")));
+        assertTrue(filter.test(new Pod(), pod(1L, "Pending")));
+    }
+
+    @Test
+    void test_pathInAdditionalProperties() throws NoSuchMethodException {
+        ChangeFilter filter = ChangeFilter.of(TestBean.class.getMethod(
+                "onReplicasChange", GenericKubernetesResource.class, GenericKubernetesResource.class));
+
+        assertTrue(filter.test(resource(1), resource(2)));
+        assertFalse(filter.test(resource(1), resource(1)));
+    }
+
+    @Test
+    void test_pathUsesJsonNames() throws NoSuchMethodException {
+        ChangeFilter filter = ChangeFilter.of(
+                TestBean.class.getMethod("onMaxSizeChange", SampleResource.class, SampleResource.class));
+        ChangeFilter javaNameFilter = ChangeFilter.of(
+                TestBean.class.getMethod("onMaxSizeJavaNameChange", SampleResource.class, SampleResource.class));
+
+        assertTrue(filter.test(sample(1), sample(2)));
+        assertFalse(filter.test(sample(1), sample(1)));
+        assertFalse(javaNameFilter.test(sample(1), sample(2)));
+    }
+
+    private SampleResource sample(int maxSize) {
+        SampleResource resource = new SampleResource();
+        resource.spec = new SampleSpec();
+        resource.spec.maxSize = maxSize;
+        return resource;
+    }
+
+    private Pod pod(Long generation, String phase) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("pod")
+                .withGeneration(generation)
+                .endMetadata()
+                .withNewStatus()
+                .withPhase(phase)
+                .endStatus()
+                .build();
+    }
+
+    private GenericKubernetesResource resource(int replicas) {
+        GenericKubernetesResource resource = new GenericKubernetesResource();
+        resource.setAdditionalProperty("spec", Map.of("replicas", replicas));
+        return resource;
+    }
+
+    public static class TestBean {
+        @Watch(event = EventType.ADD, resource = Pod.class, changes = Change.GENERATION)
+        public void onAdd(Pod pod) {}
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class)
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changes = Change.GENERATION)
+        public void onSpecChange(Pod oldPod, Pod newPod) {}
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changes = Change.LABELS)
+        public void onLabelChange(Pod oldPod, Pod newPod) {}
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changedPaths = "status.phase")
+        public void onPhaseChange(Pod oldPod, Pod newPod) {}
+
+        @Watch(event = EventType.UPDATE, resource = GenericKubernetesResource.class, changedPaths = "spec.replicas")
+        public void onReplicasChange(GenericKubernetesResource oldObj, GenericKubernetesResource newObj) {}
+
+        @Watch(event = EventType.UPDATE, resource = SampleResource.class, changedPaths = "spec.max-size")
+        public void onMaxSizeChange(SampleResource oldObj, SampleResource newObj) {}
+
+        @Watch(event = EventType.UPDATE, resource = SampleResource.class, changedPaths = "spec.maxSize")
+        public void onMaxSizeJavaNameChange(SampleResource oldObj, SampleResource newObj) {}
+    }
+
+    public static class SampleResource implements KubernetesResource {
+        private SampleSpec spec;
+    }
+
+    public static class SampleSpec {
+        @JsonProperty("max-size")
+        private Integer maxSize;
+    }
+}
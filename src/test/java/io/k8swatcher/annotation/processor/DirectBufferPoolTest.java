@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class DirectBufferPoolTest {
+
+    private final DirectBufferPool pool = new DirectBufferPool();
+
+    @Test
+    void sizeClass_roundsUpToAQuarterPowerOfTwo() {
+        assertEquals(64, DirectBufferPool.sizeClass(1));
+        assertEquals(80, DirectBufferPool.sizeClass(65));
+        assertEquals(128, DirectBufferPool.sizeClass(128));
+        assertEquals(160, DirectBufferPool.sizeClass(129));
+        assertEquals(1280, DirectBufferPool.sizeClass(1025));
+    }
+
+    @Test
+    void allocate_reusesReleasedBufferOfTheSameClass() {
+        ByteBuffer first = pool.allocate(100);
+        first.put(0, (byte) 42);
+        pool.release(first);
+
+        ByteBuffer second = pool.allocate(110);
+
+        assertNotSame(first, second);
+        assertTrue(second.isDirect());
+        assertEquals(112, second.capacity());
+        assertEquals(110, second.remaining());
+        assertEquals(42, second.get(0));
+    }
+
+    @Test
+    void allocate_rejectsLargeObjects() {
+        ByteBuffer largest = pool.allocate(DirectBufferPool.MAX_POOLED);
+
+        assertEquals(DirectBufferPool.MAX_POOLED, largest.capacity());
+        assertThrows(IllegalArgumentException.class, () -> pool.allocate(DirectBufferPool.MAX_POOLED + 1));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static io.k8swatcher.annotation.processor.DispatchTasks.pod;
+import static io.k8swatcher.annotation.processor.DispatchTasks.recordingDelete;
+import static io.k8swatcher.annotation.processor.DispatchTasks.recordingOtherAdd;
+import static io.k8swatcher.annotation.processor.DispatchTasks.recordingTask;
+import static io.k8swatcher.annotation.processor.DispatchTasks.recordingUpdate;
+import static io.k8swatcher.annotation.processor.DispatchTasks.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.k8swatcher.annotation.OverflowPolicy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+class DispatchLaneTest {
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final Executor executor = scheduled::add;
+    private final LaneMetrics metrics = LaneMetrics.unregistered();
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    void submit_dropOldest_discardsHeadOfQueue() {
+        DispatchLane lane = new DispatchLane(executor, 2, OverflowPolicy.DROP_OLDEST, metrics);
+
+        lane.submit(task(pod("a"), () -> executed.add("a")));
+        lane.submit(task(pod("b"), () -> executed.add("b")));
+        lane.submit(task(pod("c"), () -> executed.add("c")));
+        drain();
+
+        assertEquals(List.of("b", "c"), executed);
+        assertEquals(1, metrics.dropped().sum());
+        assertEquals(0, metrics.queued().get());
+    }
+
+    @Test
+    void submit_dropNewest_discardsSubmittedTask() {
+        DispatchLane lane = new DispatchLane(executor, 2, OverflowPolicy.DROP_NEWEST, metrics);
+
+        lane.submit(task(pod("a"), () -> executed.add("a")));
+        lane.submit(task(pod("b"), () -> executed.add("b")));
+        lane.submit(task(pod("c"), () -> executed.add("c")));
+        drain();
+
+        assertEquals(List.of("a", "b"), executed);
+        assertEquals(1, metrics.dropped().sum());
+    }
+
+    @Test
+    void offer_rejectsTaskInsteadOfWaitingWhenFull() {
+        DispatchLane lane = new DispatchLane(executor, 1, OverflowPolicy.BLOCK, metrics);
+
+        assertTrue(lane.offer(task(pod("a"), () -> executed.add("a"))));
+        assertFalse(lane.offer(task(pod("b"), () -> executed.add("b"))));
+        drain();
+        assertTrue(lane.offer(task(pod("b"), () -> executed.add("b"))));
+        drain();
+
+        assertEquals(List.of("a", "b"), executed);
+        assertEquals(0, metrics.dropped().sum());
+    }
+
+    @Test
+    void submit_coalesce_replacesQueuedTaskOfSameObject() {
+        DispatchLane lane = new DispatchLane(executor, 2, OverflowPolicy.COALESCE, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod first = pod("b");
+        Pod latest = pod("b");
+
+        lane.submit(recordingTask(pod("a"), handled));
+        lane.submit(recordingTask(first, handled));
+        lane.submit(recordingTask(latest, handled));
+        drain();
+
+        assertEquals(2, handled.size());
+        assertSame(latest, handled.get(1));
+        assertEquals(1, metrics.coalesced().sum());
+        assertEquals(0, metrics.dropped().sum());
+    }
+
+    @Test
+    void submit_coalescingKeepsOldestOldAndNewestNewObject() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod v1 = pod("a");
+        Pod v2 = pod("a");
+        Pod v3 = pod("a");
+
+        lane.submit(recordingUpdate(v1, v2, handled));
+        lane.submit(recordingUpdate(v2, v3, handled));
+        drain();
+
+        assertEquals(2, handled.size());
+        assertSame(v1, handled.get(0));
+        assertSame(v3, handled.get(1));
+        assertEquals(1, metrics.coalesced().sum());
+    }
+
+    @Test
+    void submit_coalescingDoesNotMergeAcrossOtherEvents() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod pod = pod("a");
+
+        lane.submit(recordingUpdate(pod, pod, handled));
+        lane.submit(recordingDelete(pod, handled));
+        lane.submit(recordingTask(pod, handled));
+        lane.submit(recordingUpdate(pod, pod, handled));
+        drain();
+
+        assertEquals(6, handled.size());
+        assertEquals(0, metrics.coalesced().sum());
+    }
+
+    @Test
+    void submitDelete_cancelsQueuedAdd() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod pod = pod("a");
+
+        lane.submit(recordingTask(pod, handled));
+        lane.submit(recordingUpdate(pod, pod, handled));
+        lane.submit(recordingTask(pod("b"), handled));
+        lane.submitDelete("ns/a", List.of(recordingDelete(pod, handled)));
+        drain();
+
+        assertEquals(1, handled.size());
+        assertEquals("b", ((Pod) handled.get(0)).getMetadata().getName());
+        assertEquals(3, metrics.coalesced().sum());
+        assertEquals(0, metrics.queued().get());
+    }
+
+    @Test
+    void submitDelete_keepsDelete_whenAddWasHandled() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod pod = pod("a");
+
+        lane.submit(recordingTask(pod, handled));
+        drain();
+        lane.submit(recordingUpdate(pod, pod, handled));
+        lane.submitDelete("ns/a", List.of(recordingDelete(pod, handled)));
+        drain();
+
+        assertEquals(4, handled.size());
+        assertEquals(0, metrics.coalesced().sum());
+    }
+
+    @Test
+    void submitDelete_keepsDelete_whenOtherAddMethodHandledTheObject() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod pod = pod("a");
+
+        lane.submit(recordingTask(pod, handled));
+        lane.submit(recordingOtherAdd(pod, handled));
+        scheduled.remove(0).run();
+        lane.submitDelete("ns/a", List.of(recordingDelete(pod, handled)));
+        drain();
+
+        assertEquals(List.of(pod, pod, pod), handled);
+        assertEquals(0, metrics.coalesced().sum());
+    }
+
+    @Test
+    void submitDelete_keepsDelete_whenOtherAddMethodRanBeforeItWasQueued() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod pod = pod("a");
+
+        lane.submit(recordingTask(pod, handled));
+        drain();
+        lane.submit(recordingOtherAdd(pod, handled));
+        lane.submitDelete("ns/a", List.of(recordingDelete(pod, handled)));
+        drain();
+
+        assertEquals(List.of(pod, pod, pod), handled);
+        assertEquals(0, metrics.coalesced().sum());
+    }
+
+    @Test
+    void submitDelete_keepsDeleteOfEarlierObjectQueuedBeforeReAdd() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, metrics);
+        List<Object> handled = new ArrayList<>();
+        Pod first = pod("a");
+        Pod second = pod("a");
+
+        lane.submit(recordingTask(first, handled));
+        drain();
+        lane.submit(recordingUpdate(first, first, handled));
+        lane.submitDelete("ns/a", List.of(recordingDelete(first, handled)));
+        lane.submit(recordingTask(second, handled));
+        lane.submit(recordingUpdate(second, second, handled));
+        lane.submitDelete("ns/a", List.of(recordingDelete(second, handled)));
+        drain();
+
+        assertEquals(4, handled.size());
+        handled.forEach(obj -> assertSame(first, obj));
+        assertEquals(3, metrics.coalesced().sum());
+        assertEquals(0, metrics.queued().get());
+    }
+
+    @Test
+    void submit_tracksQueueDepth() {
+        DispatchLane lane = new DispatchLane(executor, Integer.MAX_VALUE, OverflowPolicy.BLOCK, metrics);
+
+        lane.submit(task(pod("a"), () -> executed.add("a")));
+        lane.submit(task(pod("b"), () -> executed.add("b")));
+
+        assertEquals(2, metrics.queued().get());
+        assertEquals(2, lane.size());
+        assertEquals(1, scheduled.size());
+        drain();
+        assertEquals(0, metrics.queued().get());
+    }
+
+    private void drain() {
+        while (!scheduled.isEmpty()) {
+            scheduled.remove(0).run();
+        }
+    }
+}
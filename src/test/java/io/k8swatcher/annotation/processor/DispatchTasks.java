@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Watch;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link DispatchTask}s which run a plain callback instead of a real {@link Watch} method.
+ */
+final class DispatchTasks {
+
+    static final WatchMethodInvoker ADD_INVOKER = invoker("onAdd", Object.class);
+    static final WatchMethodInvoker OTHER_ADD_INVOKER = invoker("onOtherAdd", Object.class);
+    static final WatchMethodInvoker UPDATE_INVOKER = invoker("onUpdate", Object.class, Object.class);
+    static final WatchMethodInvoker DELETE_INVOKER = invoker("onDelete", Object.class);
+
+    private DispatchTasks() {}
+
+    static DispatchTask task(Object obj, Runnable runnable) {
+        return new DispatchTask(ADD_INVOKER, () -> new CallbackBean(ignored -> runnable.run()), null, obj, false);
+    }
+
+    /**
+     * Creates an ADD task which adds the object it is finally invoked with to {@code handled}.
+     */
+    static DispatchTask recordingTask(Object obj, List<Object> handled) {
+        return new DispatchTask(ADD_INVOKER, () -> new CallbackBean(handled::add), null, obj, false);
+    }
+
+    /**
+     * Creates an ADD task of a second ADD method which adds the object it is invoked with to {@code handled}.
+     */
+    static DispatchTask recordingOtherAdd(Object obj, List<Object> handled) {
+        return new DispatchTask(OTHER_ADD_INVOKER, () -> new CallbackBean(handled::add), null, obj, false);
+    }
+
+    /**
+     * Creates an UPDATE task which adds the old and new object it is finally invoked with to {@code handled}.
+     */
+    static DispatchTask recordingUpdate(Object oldObj, Object newObj, List<Object> handled) {
+        return new DispatchTask(UPDATE_INVOKER, () -> new CallbackBean(handled::add), oldObj, newObj, false);
+    }
+
+    static DispatchTask recordingDelete(Object obj, List<Object> handled) {
+        return new DispatchTask(DELETE_INVOKER, () -> new CallbackBean(handled::add), null, obj, false);
+    }
+
+    static Pod pod(String name) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("ns")
+                .endMetadata()
+                .build();
+    }
+
+    private static WatchMethodInvoker invoker(String name, Class<?>... parameterTypes) {
+        try {
+            return WatchMethodInvoker.of(CallbackBean.class.getMethod(name, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class CallbackBean {
+
+        private final Consumer<Object> handler;
+
+        CallbackBean(Consumer<Object> handler) {
+            this.handler = handler;
+        }
+
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Object obj) {
+            handler.accept(obj);
+        }
+
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onOtherAdd(Object obj) {
+            handler.accept(obj);
+        }
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class)
+        public void onUpdate(Object oldObj, Object newObj) {
+            handler.accept(oldObj);
+            handler.accept(newObj);
+        }
+
+        @Watch(event = EventType.DELETE, resource = Pod.class)
+        public void onDelete(Object obj) {
+            handler.accept(obj);
+        }
+    }
+}
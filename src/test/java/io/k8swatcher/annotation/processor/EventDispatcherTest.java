@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static io.k8swatcher.annotation.processor.DispatchTasks.pod;
+import static io.k8swatcher.annotation.processor.DispatchTasks.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.DispatchMode;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.cfg.InformerConfiguration;
+import io.k8swatcher.annotation.cfg.InformerContext;
+import io.k8swatcher.annotation.metrics.InformerMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EventDispatcherTest {
+
+    private final EventDispatcher dispatcher = new EventDispatcher(new InformerMetrics());
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void executor_serialModeRunsTasksInSubmissionOrder() throws InterruptedException {
+        KeyOrderedExecutor executor = dispatcher.executor(context(4), Pod.class, DispatchMode.SERIAL, false);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            executor.execute(task(pod("pod-" + i), () -> {
+                executed.add(value);
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, executed.get(i));
+        }
+    }
+
+    @Test
+    void executor_slowResourceDoesNotBlockOtherResource() throws InterruptedException {
+        InformerContext context = context(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch podHandled = new CountDownLatch(1);
+
+        dispatcher.executor(context, ConfigMap.class, DispatchMode.SERIAL, false).execute(task(null, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        dispatcher.executor(context, Pod.class, DispatchMode.SERIAL, false).execute(task(null, podHandled::countDown));
+
+        assertTrue(podHandled.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void executor_keyOrderedModeRunsDifferentObjectsConcurrently() throws InterruptedException {
+        KeyOrderedExecutor executor = dispatcher.executor(context(2), Pod.class, DispatchMode.KEY_ORDERED, false);
+        Pod blocked = pod("blocked");
+        Pod other = pod("other");
+        for (int i = 0; executor.laneOf(other) == executor.laneOf(blocked); i++) {
+            other = pod("other-" + i);
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherHandled = new CountDownLatch(1);
+
+        executor.execute(task(blocked, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        executor.execute(task(other, otherHandled::countDown));
+
+        assertTrue(otherHandled.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    void executor_clusterWideSerialModeKeepsOrderPerNamespaceAndRunsNamespacesConcurrently()
+            throws InterruptedException {
+        KeyOrderedExecutor executor = dispatcher.executor(context(2), Pod.class, DispatchMode.SERIAL, true);
+        String otherNamespace = "other";
+        for (int i = 0; executor.laneOf(pod("pod", otherNamespace)) == executor.laneOf(pod("pod", "blocked")); i++) {
+            otherNamespace = "other-" + i;
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch otherHandled = new CountDownLatch(2);
+        CountDownLatch secondHandled = new CountDownLatch(1);
+
+        executor.execute(task(pod("first", "blocked"), () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executed.add("first");
+        }));
+        executor.execute(task(pod("second", "blocked"), () -> {
+            executed.add("second");
+            secondHandled.countDown();
+        }));
+        executor.execute(task(pod("a", otherNamespace), otherHandled::countDown));
+        executor.execute(task(pod("b", otherNamespace), otherHandled::countDown));
+
+        assertTrue(otherHandled.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(), executed);
+        release.countDown();
+        assertTrue(secondHandled.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("first", "second"), executed);
+    }
+
+    @Test
+    void executor_virtualModeKeepsOrderPerObject() throws InterruptedException {
+        KeyOrderedExecutor executor = dispatcher.executor(context(2), Pod.class, DispatchMode.VIRTUAL, false);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            executor.execute(task(pod("same"), () -> {
+                executed.add(value);
+                done.countDown();
+            }));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, executed.get(i));
+        }
+    }
+
+    private InformerContext context(int poolSize) {
+        InformerConfiguration cfg = new InformerConfiguration(Map.of(), Map.of(), 1000L, "default", Set.of());
+        cfg.setPoolSize(poolSize);
+        cfg.setMaxConcurrency(4);
+        cfg.setQueueCapacity(0);
+        cfg.setOverflowPolicy(OverflowPolicy.BLOCK);
+        cfg.setCoalesce(false);
+        return new InformerContext("testBean", new Object(), Object.class, null, cfg, null);
+    }
+
+    private static Pod pod(String name, String namespace) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Watch;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+class EventFilterTest {
+
+    @Mock
+    private ApplicationContext ctx;
+
+    private final Map<String, LongAdder> counters = new HashMap<>();
+
+    @Test
+    void of_returnsNull_withoutFilter() throws NoSuchMethodException {
+        assertNull(EventFilter.of(FilterBean.class.getMethod("unfiltered", Pod.class), ctx, this::counter));
+    }
+
+    @Test
+    void test_evaluatesExpressionAgainstResource() throws NoSuchMethodException {
+        EventFilter filter = EventFilter.of(FilterBean.class.getMethod("byAnnotation", Pod.class), ctx, this::counter);
+
+        assertTrue(filter.test(pod(Map.of("example.com/managed", "true"))));
+        assertFalse(filter.test(pod(Map.of("example.com/managed", "false"))));
+        assertFalse(filter.test(pod(null)));
+        assertEquals(1, counters.get("filter.FilterBean.byAnnotation(Pod).accepted").sum());
+        assertEquals(2, counters.get("filter.FilterBean.byAnnotation(Pod).rejected").sum());
+    }
+
+    @Test
+    void test_usesPredicateBean() throws NoSuchMethodException {
+        Predicate<Pod> managedOnly = pod -> pod.getMetadata().getAnnotations() != null;
+        when(ctx.containsBean("managedOnly")).thenReturn(true);
+        when(ctx.isTypeMatch("managedOnly", Predicate.class)).thenReturn(true);
+        when(ctx.getBean("managedOnly", Predicate.class)).thenReturn(managedOnly);
+
+        EventFilter filter = EventFilter.of(FilterBean.class.getMethod("byBean", Pod.class), ctx, this::counter);
+
+        assertTrue(filter.test(pod(Map.of())));
+        assertFalse(filter.test(pod(null)));
+    }
+
+    @Test
+    void test_rejectsEventWhenExpressionFails() throws NoSuchMethodException {
+        EventFilter filter = EventFilter.of(FilterBean.class.getMethod("unsafe", Pod.class), ctx, this::counter);
+
+        assertFalse(filter.test(pod(null)));
+        assertEquals(1, counters.get("filter.FilterBean.unsafe(Pod).rejected").sum());
+    }
+
+    @Test
+    void test_rejectsEventWhenPredicateBeanFails() throws NoSuchMethodException {
+        Predicate<Pod> managedOnly = pod -> pod.getMetadata().getAnnotations().containsKey("example.com/managed");
+        when(ctx.containsBean("managedOnly")).thenReturn(true);
+        when(ctx.isTypeMatch("managedOnly", Predicate.class)).thenReturn(true);
+        when(ctx.getBean("managedOnly", Predicate.class)).thenReturn(managedOnly);
+
+        EventFilter filter = EventFilter.of(FilterBean.class.getMethod("byBean", Pod.class), ctx, this::counter);
+
+        assertFalse(filter.test(pod(null)));
+        assertTrue(filter.test(pod(Map.of("example.com/managed", "true"))));
+        assertEquals(1, counters.get("filter.FilterBean.byBean(Pod).rejected").sum());
+        assertEquals(1, counters.get("filter.FilterBean.byBean(Pod).accepted").sum());
+    }
+
+    @Test
+    void of_countsOverloadedMethodsSeparately() throws NoSuchMethodException {
+        EventFilter.of(FilterBean.class.getMethod("byAnnotation", Pod.class), ctx, this::counter);
+        EventFilter.of(FilterBean.class.getMethod("byAnnotation", Pod.class, Pod.class), ctx, this::counter);
+
+        assertTrue(counters.containsKey("filter.FilterBean.byAnnotation(Pod).accepted"));
+        assertTrue(counters.containsKey("filter.FilterBean.byAnnotation(Pod,Pod).accepted"));
+    }
+
+    private LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    private Pod pod(Map<String, String> annotations) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("pod")
+                .withAnnotations(annotations)
+                .endMetadata()
+                .build();
+    }
+
+    public static class FilterBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void unfiltered(Pod pod) {}
+
+        @Watch(
+                event = EventType.ADD,
+                resource = Pod.class,
+                filter = "metadata.annotations?.get('example.com/managed') == 'true'")
+        public void byAnnotation(Pod pod) {}
+
+        @Watch(
+                event = EventType.UPDATE,
+                resource = Pod.class,
+                filter = "metadata.annotations?.get('example.com/managed') == 'true'")
+        public void byAnnotation(Pod oldPod, Pod newPod) {}
+
+        @Watch(event = EventType.ADD, resource = Pod.class, filter = "managedOnly")
+        public void byBean(Pod pod) {}
+
+        @Watch(event = EventType.ADD, resource = Pod.class, filter = "metadata.annotations['example.com/managed']")
+        public void unsafe(Pod pod) {}
+    }
+}
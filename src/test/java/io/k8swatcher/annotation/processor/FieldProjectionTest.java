@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.GenericKubernetesResource;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FieldProjectionTest {
+
+    @Test
+    void project_keepsOnlyTheGivenFields() {
+        Pod pod = pod();
+
+        Pod projected = new FieldProjection(List.of("status.phase", "spec.nodeName")).project(pod);
+
+        assertSame(pod, projected);
+        assertEquals("Running", pod.getStatus().getPhase());
+        assertNull(pod.getStatus().getPodIP());
+        assertEquals("node-1", pod.getSpec().getNodeName());
+        assertNull(pod.getSpec().getContainers());
+        assertNull(pod.getMetadata().getLabels());
+        assertEquals("foo", pod.getMetadata().getName());
+        assertEquals("ns", pod.getMetadata().getNamespace());
+        assertEquals("42", pod.getMetadata().getResourceVersion());
+        assertEquals("v1", pod.getApiVersion());
+    }
+
+    @Test
+    void project_keepsWholeObjectsMapEntriesAndListElements() {
+        Pod pod = pod();
+
+        new FieldProjection(List.of("metadata.labels.app", "spec.containers.image", "status", "status.phase"))
+                .project(pod);
+
+        assertEquals(Map.of("app", "web"), pod.getMetadata().getLabels());
+        assertEquals("nginx:1.27", pod.getSpec().getContainers().get(0).getImage());
+        assertNull(pod.getSpec().getContainers().get(0).getName());
+        assertEquals("10.0.0.1", pod.getStatus().getPodIP());
+    }
+
+    @Test
+    void project_filtersUnknownFields() {
+        GenericKubernetesResource resource = new GenericKubernetesResource();
+        resource.setApiVersion("example.com/v1");
+        resource.setKind("Widget");
+        resource.setAdditionalProperty("spec", Map.of("size", 3, "color", "red"));
+        resource.setAdditionalProperty("status", Map.of("ready", true));
+
+        new FieldProjection(List.of("spec.size")).project(resource);
+
+        assertEquals(Map.of("spec", Map.of("size", 3)), resource.getAdditionalProperties());
+        assertEquals("Widget", resource.getKind());
+    }
+
+    private static Pod pod() {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("foo")
+                .withNamespace("ns")
+                .withResourceVersion("42")
+                .withLabels(Map.of("app", "web", "tier", "frontend"))
+                .endMetadata()
+                .withNewSpec()
+                .withNodeName("node-1")
+                .addNewContainer()
+                .withName("web")
+                .withImage("nginx:1.27")
+                .endContainer()
+                .endSpec()
+                .withNewStatus()
+                .withPhase("Running")
+                .withPodIP("10.0.0.1")
+                .endStatus()
+                .build();
+    }
+}
@@ -15,13 +15,25 @@
  */
 package io.k8swatcher.annotation.processor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
 import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.ResourceEvent;
 import io.k8swatcher.annotation.Watch;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,11 +45,17 @@ import org.springframework.context.ApplicationContext;
 class IndexInformerResHandlerTest {
 
     @Mock
-    private ApplicationContext ctx;
+    private Supplier<Object> beanSupplier;
 
     @Mock
     private TestBean testBean;
 
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(Executors.newSingleThreadExecutor(), 1);
+
+    private final ScheduledExecutorService batchScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final LongAdder suppressedResyncs = new LongAdder();
+
     private List<Method> allWatchMethods;
     private IndexInformerResHandler handlerAllEvents;
 
@@ -48,12 +66,13 @@ class IndexInformerResHandlerTest {
                 TestBean.class.getMethod("onUpdate", Namespace.class, Namespace.class),
                 TestBean.class.getMethod("onDeleteSingle", Namespace.class),
                 TestBean.class.getMethod("onDeleteWithFlag", Namespace.class, boolean.class));
-        handlerAllEvents = new IndexInformerResHandler(ctx, allWatchMethods, TestBean.class);
+        handlerAllEvents = new IndexInformerResHandler(
+                beanSupplier, allWatchMethods, mode -> executor, batchScheduler, suppressedResyncs, method -> null);
     }
 
     @Test
     void onAdd() {
-        when(ctx.getBean(TestBean.class)).thenReturn(testBean);
+        when(beanSupplier.get()).thenReturn(testBean);
 
         Namespace ns = new Namespace();
         handlerAllEvents.onAdd(ns);
@@ -67,7 +86,7 @@ class IndexInformerResHandlerTest {
 
     @Test
     void onUpdate() {
-        when(ctx.getBean(TestBean.class)).thenReturn(testBean);
+        when(beanSupplier.get()).thenReturn(testBean);
 
         Namespace oldObj = new Namespace();
         Namespace newObj = new Namespace();
@@ -82,7 +101,7 @@ class IndexInformerResHandlerTest {
 
     @Test
     void onDelete() {
-        when(ctx.getBean(TestBean.class)).thenReturn(testBean);
+        when(beanSupplier.get()).thenReturn(testBean);
 
         Namespace ns = new Namespace();
         boolean flag = true;
@@ -98,9 +117,15 @@ class IndexInformerResHandlerTest {
     @Test
     void onDelete_withSingleParamHandlerOnly() throws NoSuchMethodException {
         Method deleteSingle = TestBean.class.getMethod("onDeleteSingle", Namespace.class);
-        IndexInformerResHandler handler = new IndexInformerResHandler(ctx, List.of(deleteSingle), TestBean.class);
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier,
+                List.of(deleteSingle),
+                mode -> executor,
+                batchScheduler,
+                suppressedResyncs,
+                method -> null);
 
-        when(ctx.getBean(TestBean.class)).thenReturn(testBean);
+        when(beanSupplier.get()).thenReturn(testBean);
 
         Namespace ns = new Namespace();
         handler.onDelete(ns, true);
@@ -112,14 +137,176 @@ class IndexInformerResHandlerTest {
     @Test
     void noMethodsForEvent() throws NoSuchMethodException {
         Method addOnly = TestBean.class.getMethod("onAdd", Namespace.class);
-        IndexInformerResHandler handlerAddOnly = new IndexInformerResHandler(ctx, List.of(addOnly), TestBean.class);
+        IndexInformerResHandler handlerAddOnly = new IndexInformerResHandler(
+                beanSupplier, List.of(addOnly), mode -> executor, batchScheduler, suppressedResyncs, method -> null);
 
         Namespace ns = new Namespace();
         handlerAddOnly.onUpdate(ns, ns);
         handlerAddOnly.onDelete(ns, false);
 
         verifyNoInteractions(testBean);
-        verify(ctx, never()).getBean(TestBean.class);
+        verify(beanSupplier, never()).get();
+    }
+
+    @Test
+    void onUpdate_resyncIsNotPassedToUpdateMethods() {
+        Namespace oldObj = namespace("foo", "42");
+        Namespace newObj = namespace("foo", "42");
+        handlerAllEvents.onUpdate(oldObj, newObj);
+
+        verify(beanSupplier, never()).get();
+        assertEquals(1, suppressedResyncs.sum());
+    }
+
+    @Test
+    void onUpdate_resyncIsPassedToResyncMethods() throws NoSuchMethodException {
+        when(beanSupplier.get()).thenReturn(testBean);
+        List<Method> methods = List.of(
+                TestBean.class.getMethod("onUpdate", Namespace.class, Namespace.class),
+                TestBean.class.getMethod("onResync", Namespace.class));
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier, methods, mode -> executor, batchScheduler, suppressedResyncs, method -> null);
+
+        Namespace ns = namespace("foo", "42");
+        handler.onUpdate(ns, ns);
+
+        verify(testBean, timeout(1_000).times(1)).onResync(ns);
+        verify(testBean, never()).onUpdate(any(), any());
+        assertEquals(0, suppressedResyncs.sum());
+    }
+
+    @Test
+    void onUpdate_resyncRejectedByFilterIsCountedAsSuppressed() throws NoSuchMethodException {
+        Method resyncFiltered = TestBean.class.getMethod("onResyncFiltered", Namespace.class);
+        EventFilter filter = EventFilter.of(resyncFiltered, mock(ApplicationContext.class), name -> new LongAdder());
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier,
+                List.of(resyncFiltered),
+                mode -> executor,
+                batchScheduler,
+                suppressedResyncs,
+                method -> filter);
+
+        Namespace other = namespace("other", "42");
+        handler.onUpdate(other, other);
+
+        verify(beanSupplier, never()).get();
+        assertEquals(1, suppressedResyncs.sum());
+    }
+
+    @Test
+    void onDelete_coalescingDiscardsQueuedAdd() throws NoSuchMethodException {
+        List<Runnable> scheduled = new ArrayList<>();
+        KeyOrderedExecutor coalescing = new KeyOrderedExecutor(
+                scheduled::add, 1, Integer.MAX_VALUE, OverflowPolicy.BLOCK, true, LaneMetrics.unregistered());
+        Method addOnly = TestBean.class.getMethod("onAdd", Namespace.class);
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier, List.of(addOnly), mode -> coalescing, batchScheduler, suppressedResyncs, method -> null);
+
+        Namespace ns = namespace("foo", null);
+        handler.onAdd(ns);
+        handler.onDelete(ns, false);
+        scheduled.forEach(Runnable::run);
+
+        verify(beanSupplier, never()).get();
+    }
+
+    @Test
+    void onAdd_batchIsHandedOverWhenFull() throws NoSuchMethodException {
+        when(beanSupplier.get()).thenReturn(testBean);
+        Method addBatch = TestBean.class.getMethod("onAddBatch", List.class);
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier, List.of(addBatch), mode -> executor, batchScheduler, suppressedResyncs, method -> null);
+
+        Namespace first = new Namespace();
+        Namespace second = new Namespace();
+        handler.onAdd(first);
+        handler.onAdd(second);
+
+        verify(testBean, timeout(1_000).times(1)).onAddBatch(List.of(first, second));
+    }
+
+    @Test
+    void onUpdate_batchIsHandedOverWhenWindowCloses() throws NoSuchMethodException {
+        when(beanSupplier.get()).thenReturn(testBean);
+        Method updateBatch = TestBean.class.getMethod("onUpdateBatch", List.class);
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier,
+                List.of(updateBatch),
+                mode -> executor,
+                batchScheduler,
+                suppressedResyncs,
+                method -> null);
+
+        Namespace oldObj = new Namespace();
+        Namespace newObj = new Namespace();
+        handler.onUpdate(oldObj, newObj);
+
+        verify(testBean, timeout(1_000).times(1))
+                .onUpdateBatch(List.of(new ResourceEvent<>(EventType.UPDATE, oldObj, newObj, false)));
+    }
+
+    @Test
+    void onUpdate_windowDoesNotBlockSchedulerWhenQueueIsFull() throws Exception {
+        when(beanSupplier.get()).thenReturn(testBean);
+        Method updateBatch = TestBean.class.getMethod("onUpdateBatch", List.class);
+        List<Runnable> scheduled = new CopyOnWriteArrayList<>();
+        KeyOrderedExecutor full =
+                new KeyOrderedExecutor(scheduled::add, 1, 1, OverflowPolicy.BLOCK, false, LaneMetrics.unregistered());
+        full.execute(DispatchTasks.task(new Namespace(), () -> {}));
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier, List.of(updateBatch), mode -> full, batchScheduler, suppressedResyncs, method -> null);
+
+        Namespace oldObj = new Namespace();
+        Namespace newObj = new Namespace();
+        handler.onUpdate(oldObj, newObj);
+
+        // the window of 50ms closes while the queue is full, the scheduler keeps running other tasks
+        assertTrue(batchScheduler.schedule(() -> true, 200, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS));
+        verify(testBean, never()).onUpdateBatch(anyList());
+
+        // once there is space the batch is handed over when the window is retried
+        scheduled.remove(0).run();
+        assertTrue(batchScheduler.schedule(() -> true, 200, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS));
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        verify(testBean).onUpdateBatch(List.of(new ResourceEvent<>(EventType.UPDATE, oldObj, newObj, false)));
+    }
+
+    @Test
+    void onAdd_filteredEventIsNotQueued() throws NoSuchMethodException {
+        when(beanSupplier.get()).thenReturn(testBean);
+        Method addFiltered = TestBean.class.getMethod("onAddFiltered", Namespace.class);
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        EventFilter filter = EventFilter.of(
+                addFiltered, mock(ApplicationContext.class), name -> name.endsWith("accepted") ? accepted : rejected);
+        IndexInformerResHandler handler = new IndexInformerResHandler(
+                beanSupplier,
+                List.of(addFiltered),
+                mode -> executor,
+                batchScheduler,
+                suppressedResyncs,
+                method -> filter);
+
+        Namespace other = namespace("other", null);
+        Namespace foo = namespace("foo", null);
+        handler.onAdd(other);
+        handler.onAdd(foo);
+
+        verify(testBean, timeout(1_000).times(1)).onAddFiltered(foo);
+        verify(testBean, never()).onAddFiltered(other);
+        assertEquals(1, accepted.sum());
+        assertEquals(1, rejected.sum());
+    }
+
+    private Namespace namespace(String name, String resourceVersion) {
+        return new NamespaceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .build();
     }
 
     public static class TestBean {
@@ -134,5 +321,20 @@ class IndexInformerResHandlerTest {
 
         @Watch(event = EventType.DELETE, resource = Namespace.class)
         public void onDeleteWithFlag(Namespace obj, boolean deletedFinalStateUnknown) {}
+
+        @Watch(event = EventType.ADD, resource = Namespace.class, filter = "metadata.name == 'foo'")
+        public void onAddFiltered(Namespace obj) {}
+
+        @Watch(event = EventType.RESYNC, resource = Namespace.class)
+        public void onResync(Namespace obj) {}
+
+        @Watch(event = EventType.RESYNC, resource = Namespace.class, filter = "metadata.name == 'foo'")
+        public void onResyncFiltered(Namespace obj) {}
+
+        @Watch(event = EventType.ADD, resource = Namespace.class, batchSize = 2, batchWindowMs = 60_000)
+        public void onAddBatch(List<Namespace> namespaces) {}
+
+        @Watch(event = EventType.UPDATE, resource = Namespace.class, batchSize = 100, batchWindowMs = 50)
+        public void onUpdateBatch(List<ResourceEvent<Namespace>> events) {}
     }
 }
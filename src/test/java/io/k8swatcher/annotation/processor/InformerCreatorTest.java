@@ -16,6 +16,9 @@
 package io.k8swatcher.annotation.processor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -27,22 +30,29 @@ import io.fabric8.kubernetes.api.model.NamespaceList;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListMultiDeletable;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import io.k8swatcher.annotation.EventType;
 import io.k8swatcher.annotation.Informer;
+import io.k8swatcher.annotation.Reconcile;
 import io.k8swatcher.annotation.Watch;
 import io.k8swatcher.annotation.cfg.InformerConfiguration;
 import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
+import io.k8swatcher.annotation.metrics.InformerMetrics;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
@@ -68,11 +78,15 @@ class InformerCreatorTest {
     @Mock
     private SharedIndexInformer<Namespace> informer;
 
+    @Mock
+    private SharedIndexInformer<Namespace> namespaceInformer;
+
     private InformerCreator informerCreator;
 
     @BeforeEach
     void setUp() {
-        informerCreator = new InformerCreator(ctx, cfgProp, kubeClientFactory);
+        informerCreator =
+                new InformerCreator(ctx, cfgProp, kubeClientFactory, new EventDispatcher(new InformerMetrics()));
     }
 
     @Informer
@@ -97,7 +111,7 @@ class InformerCreatorTest {
         when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
         when(nsOp.inNamespace("ns-b")).thenReturn(nsOp);
         when(nsOp.runnableInformer(1500L)).thenReturn(informer);
-        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L)))
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
                 .thenReturn(informer);
 
         var result = informerCreator.createInformers();
@@ -109,7 +123,127 @@ class InformerCreatorTest {
         verify(nsOp).inNamespace("ns-b");
 
         verify(nsOp, times(2)).runnableInformer(1500L);
-        verify(informer, times(2)).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L));
+        verify(informer, times(2)).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L));
+    }
+
+    @Informer
+    static class OtherTestBean {
+        @Watch(event = EventType.DELETE, resource = Namespace.class)
+        public void onNamespaceDeleted(Namespace ns) {}
+    }
+
+    @Test
+    void createInformers_sharesInformerBetweenBeansWatchingTheSameResource() {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        beans.put("testBean", new TestBean());
+        beans.put("otherTestBean", new OtherTestBean());
+        when(ctx.getBeansWithAnnotation(Informer.class)).thenReturn(beans);
+
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of("ns-a"));
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
+        when(nsOp.runnableInformer(1500L)).thenReturn(informer);
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
+                .thenReturn(informer);
+
+        var result = informerCreator.createInformers();
+        assertEquals(List.of(informer), result);
+
+        verify(nsOp).runnableInformer(1500L);
+        verify(informer, times(2)).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L));
+    }
+
+    @Informer
+    static class ResyncTestBean {
+        @Watch(event = EventType.RESYNC, resource = Namespace.class)
+        public void onNamespaceResynced(Namespace ns) {}
+    }
+
+    @Test
+    void createInformers_registersOnlyHandlersWithResyncMethodsWithResyncPeriod() {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        beans.put("testBean", new TestBean());
+        beans.put("resyncTestBean", new ResyncTestBean());
+        when(ctx.getBeansWithAnnotation(Informer.class)).thenReturn(beans);
+
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of("ns-a"));
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
+        when(nsOp.runnableInformer(1500L)).thenReturn(informer);
+
+        informerCreator.createInformers();
+
+        verify(informer).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L));
+        verify(informer).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L));
+    }
+
+    @Informer(streaming = true)
+    static class StreamingTestBean {
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        public void onNamespace(Namespace ns) {}
+    }
+
+    @Informer(streaming = true)
+    static class StreamingReconcileTestBean {
+        @Watch(event = EventType.UPDATE, resource = Namespace.class)
+        public void onNamespace(Namespace oldNs, Namespace newNs) {}
+
+        @Reconcile(resource = Namespace.class)
+        public void reconcile(String key) {}
+
+        @Reconcile(resource = Pod.class)
+        public void reconcilePod(String key) {}
+    }
+
+    @Test
+    void createInformers_skipsReconcileMethodsOfStreamingBeans() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("streamingTestBean", new StreamingReconcileTestBean()));
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of("ns-a"));
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
+
+        informerCreator.createInformers();
+
+        assertEquals(1, informerCreator.streams().size());
+        verify(client, never()).resources(Pod.class);
+        informerCreator.closeInformers();
+    }
+
+    @Test
+    void createInformers_createsStreamingWatchesInsteadOfInformers() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("streamingTestBean", new StreamingTestBean()));
+
+        InformerConfiguration defaultCfg = new InformerConfiguration(
+                Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of("ns-a", "ns-b"));
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-b")).thenReturn(nsOp);
+
+        var result = informerCreator.createInformers();
+
+        assertTrue(result.isEmpty());
+        assertEquals(2, informerCreator.streams().size());
+        verify(nsOp, never()).runnableInformer(anyLong());
+        informerCreator.closeInformers();
+        assertTrue(informerCreator.streams().isEmpty());
     }
 
     @Test
@@ -142,53 +276,135 @@ class InformerCreatorTest {
         when(client.namespaces()).thenReturn(namespacesOp);
         when(namespacesOp.withLabels(Map.of("env", "prod"))).thenReturn(filteredOp);
         when(filteredOp.list()).thenReturn(nsList);
+        when(filteredOp.runnableInformer(0L)).thenReturn(namespaceInformer);
 
         when(client.resources(Namespace.class)).thenReturn(nsOp);
         when(nsOp.inNamespace(anyString())).thenReturn(nsOp);
         when(nsOp.runnableInformer(1500L)).thenReturn(informer);
-        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L)))
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
                 .thenReturn(informer);
 
         var result = informerCreator.createInformers();
-        assertEquals(2, result.size());
+        assertEquals(List.of(informer, informer, namespaceInformer), result);
 
-        verify(namespacesOp).withLabels(Map.of("env", "prod"));
+        verify(namespacesOp, times(2)).withLabels(Map.of("env", "prod"));
+        verify(namespaceInformer).addEventHandler(any(NamespaceTracker.class));
     }
 
     @Test
-    void createInformers_queriesAllNamespaces_whenLabelsAndNamesEmpty() {
+    void createInformers_startsAndClosesInformersOfNamespacesMatchingLater() {
         when(ctx.getBeansWithAnnotation(Informer.class))
                 .thenReturn(Collections.singletonMap("testBean", new TestBean()));
 
-        InformerConfiguration defaultCfg =
-                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of());
+        InformerConfiguration defaultCfg = new InformerConfiguration(
+                Map.of("env", "prod"), Collections.emptyMap(), 1500L, "", Collections.emptySet());
         when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
 
         when(kubeClientFactory.getClient("default")).thenReturn(client);
 
-        Namespace ns1 = new Namespace();
-        ns1.setMetadata(new io.fabric8.kubernetes.api.model.ObjectMetaBuilder()
-                .withName("default")
-                .build());
-
         NamespaceList nsList = new NamespaceList();
-        nsList.setItems(List.of(ns1));
-
+        nsList.setItems(List.of(namespace("prod-ns1")));
         MixedOperation<Namespace, NamespaceList, Resource<Namespace>> namespacesOp = mock(MixedOperation.class);
-
+        FilterWatchListDeletable<Namespace, NamespaceList, Resource<Namespace>> filteredOp =
+                mock(FilterWatchListDeletable.class);
         when(client.namespaces()).thenReturn(namespacesOp);
-        when(namespacesOp.list()).thenReturn(nsList);
+        when(namespacesOp.withLabels(Map.of("env", "prod"))).thenReturn(filteredOp);
+        when(filteredOp.list()).thenReturn(nsList);
+        when(filteredOp.runnableInformer(0L)).thenReturn(namespaceInformer);
+        ArgumentCaptor<NamespaceTracker> tracker = ArgumentCaptor.forClass(NamespaceTracker.class);
+        when(namespaceInformer.addEventHandler(tracker.capture())).thenReturn(namespaceInformer);
 
+        MixedOperation<Namespace, KubernetesResourceList<Namespace>, Resource<Namespace>> newNsOp =
+                mock(MixedOperation.class);
+        SharedIndexInformer<Namespace> newInformer = mock(SharedIndexInformer.class);
         when(client.resources(Namespace.class)).thenReturn(nsOp);
-        when(nsOp.inNamespace(anyString())).thenReturn(nsOp);
+        when(nsOp.inNamespace("prod-ns1")).thenReturn(nsOp);
+        when(nsOp.inNamespace("prod-ns2")).thenReturn(newNsOp);
         when(nsOp.runnableInformer(1500L)).thenReturn(informer);
-        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L)))
+        when(newNsOp.runnableInformer(1500L)).thenReturn(newInformer);
+
+        informerCreator.createInformers();
+        tracker.getValue().onAdd(namespace("prod-ns1"));
+        tracker.getValue().onAdd(namespace("prod-ns2"));
+
+        verify(informer, never()).start();
+        verify(newInformer).start();
+        verify(newInformer).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L));
+
+        tracker.getValue().onDelete(namespace("prod-ns2"), false);
+
+        verify(newInformer).removeEventHandler(any(IndexInformerResHandler.class));
+        verify(newInformer).close();
+        verify(informer, never()).close();
+    }
+
+    @Test
+    void createInformers_watchesAllNamespacesWithOneInformer_whenLabelsAndNamesEmpty() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("testBean", new TestBean()));
+
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), 1500L, "", Set.of());
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+
+        FilterWatchListMultiDeletable anyNamespaceOp = mock(FilterWatchListMultiDeletable.class);
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inAnyNamespace()).thenReturn(anyNamespaceOp);
+        when(anyNamespaceOp.runnableInformer(1500L)).thenReturn(informer);
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
                 .thenReturn(informer);
 
         var result = informerCreator.createInformers();
         assertEquals(1, result.size());
 
-        verify(namespacesOp).list();
+        verify(client, never()).namespaces();
+        verify(nsOp, never()).inNamespace(anyString());
+    }
+
+    @Test
+    void createInformers_usesOneFilteredClusterWatch_whenNamespaceLabelsSelectManyNamespaces() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("testBean", new TestBean()));
+
+        InformerConfiguration defaultCfg = new InformerConfiguration(
+                Map.of("env", "prod"), Collections.emptyMap(), 1500L, "", Collections.emptySet());
+        defaultCfg.setClusterWatchThreshold(2);
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+
+        NamespaceList nsList = new NamespaceList();
+        nsList.setItems(List.of(namespace("prod-ns1"), namespace("prod-ns2")));
+        MixedOperation<Namespace, NamespaceList, Resource<Namespace>> namespacesOp = mock(MixedOperation.class);
+        FilterWatchListDeletable<Namespace, NamespaceList, Resource<Namespace>> filteredOp =
+                mock(FilterWatchListDeletable.class);
+        when(client.namespaces()).thenReturn(namespacesOp);
+        when(namespacesOp.withLabels(Map.of("env", "prod"))).thenReturn(filteredOp);
+        when(filteredOp.list()).thenReturn(nsList);
+        when(filteredOp.runnableInformer(0L)).thenReturn(namespaceInformer);
+
+        FilterWatchListMultiDeletable anyNamespaceOp = mock(FilterWatchListMultiDeletable.class);
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inAnyNamespace()).thenReturn(anyNamespaceOp);
+        when(anyNamespaceOp.runnableInformer(1500L)).thenReturn(informer);
+        ArgumentCaptor<ResourceEventHandler> handler = ArgumentCaptor.forClass(ResourceEventHandler.class);
+        when(informer.addEventHandlerWithResyncPeriod(handler.capture(), eq(0L))).thenReturn(informer);
+
+        var result = informerCreator.createInformers();
+        assertEquals(List.of(informer, namespaceInformer), result);
+
+        verify(nsOp, never()).inNamespace(anyString());
+        assertInstanceOf(NamespaceFilteringHandler.class, handler.getValue());
+    }
+
+    private static Namespace namespace(String name) {
+        Namespace namespace = new Namespace();
+        namespace.setMetadata(new io.fabric8.kubernetes.api.model.ObjectMetaBuilder()
+                .withName(name)
+                .build());
+        return namespace;
     }
 
     @Test
@@ -208,7 +424,7 @@ class InformerCreatorTest {
         FilterWatchListDeletable filteredOp = mock(FilterWatchListDeletable.class);
         when(nsOp.withLabels(Map.of("app", "myapp"))).thenReturn(filteredOp);
         when(filteredOp.runnableInformer(1500L)).thenReturn(informer);
-        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L)))
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
                 .thenReturn(informer);
 
         var result = informerCreator.createInformers();
@@ -218,6 +434,37 @@ class InformerCreatorTest {
         verify(filteredOp).runnableInformer(1500L);
     }
 
+    @Test
+    void createInformers_usesFieldSelectors_whenProvided() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("testBean", new TestBean()));
+
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Map.of("app", "myapp"), 1500L, "", Set.of("ns-a"));
+        defaultCfg.setFieldSelectors(List.of("spec.nodeName=node-1", "status.phase!=Succeeded"));
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        when(kubeClientFactory.getClient("default")).thenReturn(client);
+
+        when(client.resources(Namespace.class)).thenReturn(nsOp);
+        when(nsOp.inNamespace("ns-a")).thenReturn(nsOp);
+
+        FilterWatchListDeletable filteredOp = mock(FilterWatchListDeletable.class);
+        when(nsOp.withLabels(Map.of("app", "myapp"))).thenReturn(filteredOp);
+        when(filteredOp.withField("spec.nodeName", "node-1")).thenReturn(filteredOp);
+        when(filteredOp.withoutField("status.phase", "Succeeded")).thenReturn(filteredOp);
+        when(filteredOp.runnableInformer(1500L)).thenReturn(informer);
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
+                .thenReturn(informer);
+
+        var result = informerCreator.createInformers();
+        assertEquals(1, result.size());
+
+        verify(filteredOp).withField("spec.nodeName", "node-1");
+        verify(filteredOp).withoutField("status.phase", "Succeeded");
+        verify(filteredOp).runnableInformer(1500L);
+    }
+
     @Test
     void createInformers_returnsEmptyList_whenNoWatchMethods() {
         @Informer
@@ -301,6 +548,31 @@ class InformerCreatorTest {
         verify(informer).addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1000L));
     }
 
+    @Test
+    void createInformers_rejectsInvalidValuesFromApplicationYml() {
+        when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Collections.singletonMap("testBean", new TestBean()));
+        InformerConfiguration defaultCfg =
+                new InformerConfiguration(Collections.emptyMap(), Collections.emptyMap(), null, "", Set.of("ns-a"));
+        defaultCfg.setQueueCapacity(-1);
+        when(cfgProp.getConfig()).thenReturn(Collections.singletonMap("default", defaultCfg));
+
+        IllegalArgumentException error =
+                assertThrows(IllegalArgumentException.class, () -> informerCreator.createInformers());
+        assertEquals("queueCapacity of informer bean testBean must not be negative, got -1", error.getMessage());
+
+        defaultCfg.setQueueCapacity(100);
+        defaultCfg.setRetryBaseDelayMs(5000L);
+        defaultCfg.setRetryMaxDelayMs(1000L);
+        error = assertThrows(IllegalArgumentException.class, () -> informerCreator.createInformers());
+        assertTrue(error.getMessage().contains("informer bean testBean"));
+
+        defaultCfg.setRetryMaxDelayMs(null);
+        defaultCfg.setFieldSelectors(List.of("spec.nodeName"));
+        error = assertThrows(IllegalArgumentException.class, () -> informerCreator.createInformers());
+        assertTrue(error.getMessage().endsWith("of informer bean testBean"));
+    }
+
     @Informer
     static class TestBeanWithMultipleResources {
         @Watch(event = EventType.ADD, resource = Namespace.class)
@@ -330,7 +602,7 @@ class InformerCreatorTest {
 
         when(nsOp.runnableInformer(1500L)).thenReturn(informer);
         when(podOp.runnableInformer(1500L)).thenReturn(informer);
-        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(1500L)))
+        when(informer.addEventHandlerWithResyncPeriod(any(IndexInformerResHandler.class), eq(0L)))
                 .thenReturn(informer);
 
         var result = informerCreator.createInformers();
@@ -339,4 +611,30 @@ class InformerCreatorTest {
         verify(client).resources(Namespace.class);
         verify(client).resources(Pod.class);
     }
+
+    @Test
+    void beanSupplier_returnsCapturedInstance_whenSingleton() {
+        TestBean bean = new TestBean();
+        when(ctx.isSingleton("testBean")).thenReturn(true);
+
+        Supplier<Object> supplier = informerCreator.beanSupplier("testBean", bean);
+
+        assertSame(bean, supplier.get());
+        assertSame(bean, supplier.get());
+        verify(ctx, never()).getBean(anyString());
+    }
+
+    @Test
+    void beanSupplier_looksUpBeanForEveryEvent_whenNotSingleton() {
+        TestBean first = new TestBean();
+        TestBean second = new TestBean();
+        when(ctx.isSingleton("testBean")).thenReturn(false);
+        when(ctx.getBean("testBean")).thenReturn(first, second);
+
+        Supplier<Object> supplier = informerCreator.beanSupplier("testBean", first);
+
+        assertSame(first, supplier.get());
+        assertSame(second, supplier.get());
+        verify(ctx, times(2)).getBean("testBean");
+    }
 }
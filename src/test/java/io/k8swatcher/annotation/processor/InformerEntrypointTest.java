@@ -15,21 +15,25 @@
  */
 package io.k8swatcher.annotation.processor;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
 import io.k8swatcher.annotation.validate.AnnotationValidator;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
 
 @ExtendWith(MockitoExtension.class)
 class InformerEntrypointTest {
@@ -40,27 +44,37 @@ class InformerEntrypointTest {
     @Mock
     private InformerCreator informerCreator;
 
+    @Mock
+    private EventDispatcher eventDispatcher;
+
     @Mock
     private SharedIndexInformer informer1;
 
     @Mock
     private SharedIndexInformer informer2;
 
-    @Mock
-    private ApplicationReadyEvent applicationReadyEvent;
+    private final InformerConfigurationProperty cfg = new InformerConfigurationProperty();
 
     private InformerEntrypoint informerEntrypoint;
 
     @BeforeEach
     void setUp() {
-        informerEntrypoint = new InformerEntrypoint(validator, informerCreator);
+        cfg.setSyncTimeoutMs(5000);
+        informerEntrypoint = new InformerEntrypoint(validator, informerCreator, eventDispatcher, cfg);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (informerEntrypoint.isRunning()) {
+            informerEntrypoint.stop();
+        }
     }
 
     @Test
-    void onStartUp_validatesAnnotations() {
+    void start_validatesAnnotations() {
         when(informerCreator.createInformers()).thenReturn(Collections.emptyList());
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
+        informerEntrypoint.start();
 
         verify(validator).validateInformerAnnotations();
         verify(validator).validateWatchAnnotations();
@@ -68,26 +82,27 @@ class InformerEntrypointTest {
     }
 
     @Test
-    void onStartUp_createsAndStartsInformers() {
+    void start_startsInformersAndWaitsUntilSynced() {
         List<SharedIndexInformer> informers = Arrays.asList(informer1, informer2);
         when(informerCreator.createInformers()).thenReturn(informers);
-        when(informer1.isRunning()).thenReturn(false);
-        when(informer2.isRunning()).thenReturn(false);
+        when(informer1.start()).thenReturn(CompletableFuture.completedFuture(null));
+        when(informer2.start()).thenReturn(CompletableFuture.completedFuture(null));
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
+        informerEntrypoint.start();
 
-        verify(informerCreator).createInformers();
         verify(informer1).start();
         verify(informer2).start();
+        assertTrue(informerEntrypoint.hasSynced());
+        assertTrue(informerEntrypoint.isRunning());
     }
 
     @Test
-    void onStartUp_executesInCorrectOrder() {
+    void start_executesInCorrectOrder() {
         List<SharedIndexInformer> informers = Arrays.asList(informer1);
         when(informerCreator.createInformers()).thenReturn(informers);
-        when(informer1.isRunning()).thenReturn(false);
+        when(informer1.start()).thenReturn(CompletableFuture.completedFuture(null));
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
+        informerEntrypoint.start();
 
         InOrder inOrder = inOrder(validator, informerCreator, informer1);
         inOrder.verify(validator).validateInformerAnnotations();
@@ -98,64 +113,133 @@ class InformerEntrypointTest {
     }
 
     @Test
-    void onStartUp_waitsUntilAllInformersStopRunning() {
+    void start_limitsInformersListingAtTheSameTime() throws InterruptedException {
+        cfg.setStartupConcurrency(1);
+        cfg.setSyncTimeoutMs(0);
+        CompletableFuture<Void> firstSynced = new CompletableFuture<>();
         List<SharedIndexInformer> informers = Arrays.asList(informer1, informer2);
         when(informerCreator.createInformers()).thenReturn(informers);
+        when(informer1.start()).thenReturn(firstSynced);
+        when(informer2.start()).thenReturn(CompletableFuture.completedFuture(null));
+
+        informerEntrypoint.start();
 
-        when(informer1.isRunning()).thenReturn(true, true, false);
-        when(informer2.isRunning()).thenReturn(true, false, false);
+        assertFalse(informerEntrypoint.awaitSynced(Duration.ofMillis(200)));
+        verify(informer2, never()).start();
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
+        firstSynced.complete(null);
 
-        verify(informer1, atLeast(3)).isRunning();
-        verify(informer2, atLeast(2)).isRunning();
+        assertTrue(informerEntrypoint.awaitSynced(Duration.ofSeconds(5)));
+        verify(informer2).start();
     }
 
     @Test
-    void onStartUp_throwsRuntimeExceptionOnInterruption() {
-        List<SharedIndexInformer> informers = Arrays.asList(informer1);
-        when(informerCreator.createInformers()).thenReturn(informers);
-        when(informer1.isRunning()).thenReturn(true);
+    void start_failsAfterSyncTimeout() {
+        cfg.setSyncTimeoutMs(100);
+        when(informerCreator.createInformers()).thenReturn(List.of(informer1));
+        when(informer1.start()).thenReturn(new CompletableFuture<>());
+
+        assertThrows(IllegalStateException.class, () -> informerEntrypoint.start());
+
+        assertFalse(informerEntrypoint.isRunning());
+        verify(informer1).close();
+        verify(eventDispatcher).shutdown();
+    }
 
-        Thread.currentThread().interrupt();
+    @Test
+    void start_continuesAfterSyncTimeoutWhenEnabled() {
+        cfg.setSyncTimeoutMs(100);
+        cfg.setContinueOnSyncTimeout(true);
+        when(informerCreator.createInformers()).thenReturn(List.of(informer1));
+        when(informer1.start()).thenReturn(new CompletableFuture<>());
 
-        assertThrows(RuntimeException.class, () -> informerEntrypoint.onStartUp(applicationReadyEvent));
+        informerEntrypoint.start();
 
-        Thread.interrupted();
+        assertFalse(informerEntrypoint.hasSynced());
+        assertTrue(informerEntrypoint.isRunning());
     }
 
     @Test
-    void onStartUp_handlesEmptyInformerList() {
+    void start_informerWhichDoesNotSyncGivesUpItsPermitAfterSyncTimeout() {
+        cfg.setStartupConcurrency(1);
+        cfg.setSyncTimeoutMs(100);
+        cfg.setContinueOnSyncTimeout(true);
+        when(informerCreator.createInformers()).thenReturn(Arrays.asList(informer1, informer2));
+        when(informer1.start()).thenReturn(new CompletableFuture<>());
+        when(informer2.start()).thenReturn(CompletableFuture.completedFuture(null));
+
+        informerEntrypoint.start();
+
+        verify(informer2, timeout(5000)).start();
+    }
+
+    @Test
+    void start_failsWhenInformerCouldNotBeStarted() {
+        IllegalStateException forbidden = new IllegalStateException("forbidden");
+        when(informerCreator.createInformers()).thenReturn(List.of(informer1, informer2));
+        when(informer1.start()).thenReturn(CompletableFuture.failedFuture(forbidden));
+        when(informer2.start()).thenReturn(CompletableFuture.completedFuture(null));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> informerEntrypoint.start());
+
+        assertSame(forbidden, e.getCause());
+        assertFalse(informerEntrypoint.hasSynced());
+        assertFalse(informerEntrypoint.isRunning());
+        verify(eventDispatcher).shutdown();
+    }
+
+    @Test
+    void start_continuesWithFailedInformerWhenEnabled() throws InterruptedException {
+        cfg.setContinueOnSyncTimeout(true);
+        when(informerCreator.createInformers()).thenReturn(List.of(informer1));
+        when(informer1.start()).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("forbidden")));
+
+        informerEntrypoint.start();
+
+        assertTrue(informerEntrypoint.isRunning());
+        assertFalse(informerEntrypoint.hasSynced());
+        assertFalse(informerEntrypoint.awaitSynced(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void getPhase_startsBeforeDefaultPhase() {
+        assertTrue(informerEntrypoint.getPhase() < SmartLifecycle.DEFAULT_PHASE);
+    }
+
+    @Test
+    void start_handlesEmptyInformerList() {
         when(informerCreator.createInformers()).thenReturn(Collections.emptyList());
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
+        informerEntrypoint.start();
 
-        verify(validator).validateInformerAnnotations();
-        verify(validator).validateWatchAnnotations();
+        assertTrue(informerEntrypoint.hasSynced());
         verify(informerCreator).createInformers();
         verifyNoMoreInteractions(informer1, informer2);
     }
 
     @Test
-    void shutdown_closesAllInformers() {
+    void stop_closesAllInformers() {
         List<SharedIndexInformer> informers = Arrays.asList(informer1, informer2);
         when(informerCreator.createInformers()).thenReturn(informers);
-        when(informer1.isRunning()).thenReturn(false);
-        when(informer2.isRunning()).thenReturn(false);
+        when(informer1.start()).thenReturn(CompletableFuture.completedFuture(null));
+        when(informer2.start()).thenReturn(CompletableFuture.completedFuture(null));
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
-        informerEntrypoint.shutdown();
+        informerEntrypoint.start();
+        informerEntrypoint.stop();
 
         verify(informer1).close();
         verify(informer2).close();
+        verify(informerCreator).closeInformers();
+        verify(eventDispatcher).shutdown();
+        assertFalse(informerEntrypoint.isRunning());
     }
 
     @Test
-    void shutdown_handlesEmptyInformerList() {
+    void stop_handlesEmptyInformerList() {
         when(informerCreator.createInformers()).thenReturn(Collections.emptyList());
 
-        informerEntrypoint.onStartUp(applicationReadyEvent);
-        informerEntrypoint.shutdown();
+        informerEntrypoint.start();
+        informerEntrypoint.stop();
 
         verifyNoInteractions(informer1, informer2);
     }
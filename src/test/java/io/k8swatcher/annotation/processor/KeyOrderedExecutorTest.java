@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static io.k8swatcher.annotation.processor.DispatchTasks.pod;
+import static io.k8swatcher.annotation.processor.DispatchTasks.task;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.k8swatcher.annotation.OverflowPolicy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class KeyOrderedExecutorTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void execute_keepsOrderPerObject() throws InterruptedException {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 4);
+        Map<String, List<Integer>> executed = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(10 * 50);
+
+        for (int i = 0; i < 50; i++) {
+            for (int pod = 0; pod < 10; pod++) {
+                String name = "pod-" + pod;
+                int value = i;
+                executor.execute(task(pod(name), () -> {
+                    executed.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>())
+                            .add(value);
+                    done.countDown();
+                }));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executed.values().forEach(values -> {
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(i, values.get(i));
+            }
+        });
+    }
+
+    @Test
+    void laneOf_isStableForSameObject() {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(pool, 8);
+
+        assertEquals(executor.laneOf(pod("foo")), executor.laneOf(pod("foo")));
+    }
+
+    @Test
+    void laneOf_keepsNamespaceTogether_whenStripedByNamespace() {
+        KeyOrderedExecutor executor = new KeyOrderedExecutor(
+                pool, 8, true, Integer.MAX_VALUE, OverflowPolicy.BLOCK, false, LaneMetrics.unregistered());
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(executor.laneOf(pod("foo", "ns")), executor.laneOf(pod("pod-" + i, "ns")));
+        }
+        assertTrue(IntStream.range(0, 20)
+                        .map(i -> executor.laneOf(pod("foo", "ns-" + i)))
+                        .distinct()
+                        .count()
+                > 1);
+    }
+
+    @Test
+    void laneOf_usesFirstLane_whenSingleLaneOrNoMetadata() {
+        assertEquals(0, new KeyOrderedExecutor(pool, 1).laneOf(pod("foo")));
+        assertEquals(0, new KeyOrderedExecutor(pool, 8).laneOf(new Namespace()));
+        assertEquals(0, new KeyOrderedExecutor(pool, 8).laneOf(null));
+    }
+
+    private static Pod pod(String name, String namespace) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace(namespace)
+                .endMetadata()
+                .build();
+    }
+}
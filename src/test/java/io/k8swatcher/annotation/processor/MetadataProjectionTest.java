@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.ObjectMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretBuilder;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MetadataProjectionTest {
+
+    @Test
+    void project_keepsOnlyApiVersionKindAndMetadata() {
+        Pod pod = new PodBuilder()
+                .withNewMetadata()
+                .withName("foo")
+                .withNamespace("ns")
+                .endMetadata()
+                .withNewSpec()
+                .withNodeName("node-1")
+                .endSpec()
+                .withNewStatus()
+                .withPhase("Running")
+                .endStatus()
+                .build();
+        ObjectMeta metadata = pod.getMetadata();
+
+        Pod projected = MetadataProjection.project(pod);
+
+        assertSame(pod, projected);
+        assertSame(metadata, projected.getMetadata());
+        assertEquals("v1", projected.getApiVersion());
+        assertEquals("Pod", projected.getKind());
+        assertNull(projected.getSpec());
+        assertNull(projected.getStatus());
+    }
+
+    @Test
+    void project_dropsUnknownFields() {
+        Secret secret = new SecretBuilder()
+                .withNewMetadata()
+                .withName("foo")
+                .endMetadata()
+                .withData(Map.of("password", "c2VjcmV0"))
+                .build();
+        secret.setAdditionalProperty("unknown", "value");
+
+        MetadataProjection.project(secret);
+
+        assertNull(secret.getData());
+        assertTrue(secret.getAdditionalProperties().isEmpty());
+        assertEquals("foo", secret.getMetadata().getName());
+    }
+}
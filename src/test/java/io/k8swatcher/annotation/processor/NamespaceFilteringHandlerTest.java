@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.mockito.Mockito.*;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class NamespaceFilteringHandlerTest {
+
+    @Mock
+    private ResourceEventHandler<Object> delegate;
+
+    @Test
+    void passesEventsOfSelectedNamespaces() {
+        NamespaceFilteringHandler handler = new NamespaceFilteringHandler(delegate, Set.of("ns-a"));
+        Pod oldPod = pod("ns-a");
+        Pod newPod = pod("ns-a");
+
+        handler.onAdd(newPod);
+        handler.onUpdate(oldPod, newPod);
+        handler.onDelete(newPod, true);
+
+        verify(delegate).onAdd(newPod);
+        verify(delegate).onUpdate(oldPod, newPod);
+        verify(delegate).onDelete(newPod, true);
+    }
+
+    @Test
+    void dropsEventsOfOtherNamespaces() {
+        NamespaceFilteringHandler handler = new NamespaceFilteringHandler(delegate, Set.of("ns-a"));
+        Pod pod = pod("ns-b");
+
+        handler.onAdd(pod);
+        handler.onUpdate(pod, pod);
+        handler.onDelete(pod, false);
+
+        verifyNoInteractions(delegate);
+    }
+
+    private static Pod pod(String namespace) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName("foo")
+                .withNamespace(namespace)
+                .endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static io.k8swatcher.annotation.processor.DispatchTasks.pod;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.Reconcile;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReconcileHandlerTest {
+
+    private final List<Runnable> workers = new ArrayList<>();
+    private final TimingWheel timers = new TimingWheel(10, TimeUnit.MILLISECONDS, 64, Thread::new);
+    private final LaneMetrics metrics = LaneMetrics.unregistered();
+    private final Map<String, Object> cache = new HashMap<>();
+    private final ReconcileBean bean = new ReconcileBean();
+
+    @AfterEach
+    void tearDown() {
+        timers.stop();
+    }
+
+    @Test
+    void onUpdate_eventsDuringReconcileResultInOneFollowUp() throws NoSuchMethodException {
+        ReconcileHandler handler = handler("reconcile", String.class, Pod.class);
+        Pod current = pod("foo");
+        cache.put("ns/foo", current);
+
+        handler.onAdd(pod("foo"));
+        for (int i = 0; i < 10; i++) {
+            handler.onUpdate(pod("foo"), pod("foo"));
+        }
+        runWorkers();
+
+        assertEquals(List.of("ns/foo", "ns/foo"), bean.keys);
+        assertEquals(List.of(current, current), bean.objects);
+        assertEquals(9, metrics.coalesced().sum());
+    }
+
+    @Test
+    void onUpdate_skipsResyncOfUnchangedObject() throws NoSuchMethodException {
+        ReconcileHandler handler = handler("reconcileKey", String.class);
+        Pod pod = pod("foo");
+
+        handler.onUpdate(pod, pod);
+        runWorkers();
+
+        assertTrue(bean.keys.isEmpty());
+    }
+
+    @Test
+    void onUpdate_resyncMethodReconcilesUnchangedObject() throws NoSuchMethodException {
+        ReconcileHandler handler = handler("reconcileOnResync", String.class);
+        Pod pod = pod("foo");
+
+        handler.onUpdate(pod, pod);
+        runWorkers();
+
+        assertEquals(List.of("ns/foo"), bean.keys);
+    }
+
+    @Test
+    void onDelete_reconcilesWithoutCachedObject() throws NoSuchMethodException {
+        ReconcileHandler handler = handler("reconcile", String.class, Pod.class);
+
+        handler.onDelete(pod("foo"), false);
+        runWorkers();
+
+        assertEquals(List.of("ns/foo"), bean.keys);
+        assertNull(bean.objects.get(0));
+    }
+
+    @Test
+    void onAdd_keyOnlyMethodReceivesKey() throws NoSuchMethodException {
+        ReconcileHandler handler = handler("reconcileKey", String.class);
+
+        handler.onAdd(pod("foo"));
+        handler.onAdd(pod("bar"));
+        runWorkers();
+
+        assertEquals(List.of("ns/foo", "ns/bar"), bean.keys);
+    }
+
+    private ReconcileHandler handler(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        WorkQueue workQueue = new WorkQueue(
+                workers::add,
+                8,
+                Integer.MAX_VALUE,
+                OverflowPolicy.BLOCK,
+                timers,
+                new RetryPolicy(3, 5, 1000, new TokenBucket(0, 1)),
+                null,
+                metrics,
+                WorkQueueMetrics.unregistered());
+        return new ReconcileHandler(
+                () -> bean, List.of(ReconcileBean.class.getMethod(method, parameterTypes)), workQueue, cache::get);
+    }
+
+    private void runWorkers() {
+        while (!workers.isEmpty()) {
+            workers.remove(0).run();
+        }
+    }
+
+    public static class ReconcileBean {
+
+        private final List<String> keys = new ArrayList<>();
+        private final List<Object> objects = new ArrayList<>();
+
+        @Reconcile(resource = Pod.class)
+        public void reconcile(String key, Pod pod) {
+            keys.add(key);
+            objects.add(pod);
+        }
+
+        @Reconcile(resource = Pod.class)
+        public void reconcileKey(String key) {
+            keys.add(key);
+        }
+
+        @Reconcile(resource = Pod.class, resync = true)
+        public void reconcileOnResync(String key) {
+            keys.add(key);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.utils.KubernetesSerialization;
+import io.k8swatcher.annotation.CacheStore;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+class SerializedItemStoreTest {
+
+    private final KubernetesSerialization serialization = new KubernetesSerialization();
+
+    @Test
+    void get_deserializesObjectsWhichAreNotHot() {
+        for (CacheStore cacheStore : List.of(CacheStore.SERIALIZED, CacheStore.COMPRESSED, CacheStore.OFF_HEAP)) {
+            SerializedItemStore<Pod> store =
+                    new SerializedItemStore<>(Pod.class, serialization, cacheStore, 1, new LongAdder());
+            Pod a = pod("a", "1");
+            Pod b = pod("b", "1");
+
+            store.put(store.getKey(a), a);
+            store.put(store.getKey(b), b);
+
+            assertSame(b, store.get("ns/b"), cacheStore.name());
+            Pod cached = store.get("ns/a");
+            assertNotSame(a, cached, cacheStore.name());
+            assertEquals(json(a), json(cached), cacheStore.name());
+            assertEquals(2, store.values().count(), cacheStore.name());
+        }
+    }
+
+    @Test
+    void compressedStoresTakeLessMemory() {
+        LongAdder serializedBytes = new LongAdder();
+        LongAdder compressedBytes = new LongAdder();
+        SerializedItemStore<Pod> serialized =
+                new SerializedItemStore<>(Pod.class, serialization, CacheStore.SERIALIZED, 0, serializedBytes);
+        SerializedItemStore<Pod> compressed =
+                new SerializedItemStore<>(Pod.class, serialization, CacheStore.COMPRESSED, 0, compressedBytes);
+        Pod pod = pod("a", "1");
+        pod.getMetadata().getLabels().put("description", "web ".repeat(100));
+
+        serialized.put("ns/a", pod);
+        compressed.put("ns/a", pod);
+
+        assertTrue(serializedBytes.sum() > 400);
+        assertTrue(compressedBytes.sum() < serializedBytes.sum() / 2);
+        assertEquals(json(pod), json(compressed.get("ns/a")));
+    }
+
+    @Test
+    void put_returnsThePreviousObject() {
+        LongAdder storedBytes = new LongAdder();
+        SerializedItemStore<Pod> store =
+                new SerializedItemStore<>(Pod.class, serialization, CacheStore.COMPRESSED, 0, storedBytes);
+        Pod first = pod("a", "1");
+        Pod second = pod("a", "2");
+
+        assertNull(store.put("ns/a", first));
+        assertEquals(json(first), json(store.put("ns/a", second)));
+        assertEquals(List.of("ns/a"), store.keySet().toList());
+
+        assertEquals(json(second), json(store.remove("ns/a")));
+        assertNull(store.get("ns/a"));
+        assertEquals(0, store.size());
+        assertEquals(0, storedBytes.sum());
+    }
+
+    @Test
+    void offHeapStoreKeepsObjectsLargerThanThePoolOnTheHeap() {
+        LongAdder storedBytes = new LongAdder();
+        SerializedItemStore<Pod> store =
+                new SerializedItemStore<>(Pod.class, serialization, CacheStore.OFF_HEAP, 0, storedBytes);
+        byte[] random = new byte[3 * DirectBufferPool.MAX_POOLED / 2];
+        new Random(42).nextBytes(random);
+        Pod large = pod("a", "1");
+        large.getMetadata().getLabels().put("data", Base64.getEncoder().encodeToString(random));
+
+        store.put("ns/a", large);
+
+        assertTrue(storedBytes.sum() > DirectBufferPool.MAX_POOLED);
+        assertEquals(json(large), json(store.get("ns/a")));
+
+        Pod small = pod("a", "2");
+        assertEquals(json(large), json(store.put("ns/a", small)));
+        assertEquals(json(small), json(store.get("ns/a")));
+        store.remove("ns/a");
+        assertEquals(0, storedBytes.sum());
+    }
+
+    @Test
+    void get_racingPutAndRemoveLeaveNoStaleObjects() throws InterruptedException {
+        SerializedItemStore<Pod> store =
+                new SerializedItemStore<>(Pod.class, serialization, CacheStore.OFF_HEAP, 2, new LongAdder());
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (writing.get()) {
+                        store.get("ns/a");
+                        store.get("ns/b");
+                        store.values().forEach(pod -> assertNotNull(pod.getMetadata()));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int version = 1; version <= 2000; version++) {
+            store.put("ns/a", pod("a", String.valueOf(version)));
+            store.put("ns/b", pod("b", String.valueOf(version)));
+            store.remove("ns/b");
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals("2000", store.get("ns/a").getMetadata().getResourceVersion());
+        assertNull(store.get("ns/b"));
+        assertEquals(1, store.values().count());
+    }
+
+    private String json(Pod pod) {
+        return serialization.asJson(pod);
+    }
+
+    private static Pod pod(String name, String resourceVersion) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("ns")
+                .withResourceVersion(resourceVersion)
+                .addToLabels("app", "web")
+                .endMetadata()
+                .withNewSpec()
+                .withNodeName("node-1")
+                .endSpec()
+                .build();
+    }
+}
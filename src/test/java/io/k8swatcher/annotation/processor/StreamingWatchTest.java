@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.fabric8.kubernetes.api.model.ListOptions;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingWatchTest {
+
+    @Mock
+    private FilterWatchListDeletable<Pod, PodList, PodResource> operation;
+
+    @Mock
+    private ResourceEventHandler<Pod> handler;
+
+    @Mock
+    private Watch watch;
+
+    private final LongAdder relists = new LongAdder();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private StreamingWatch<Pod> stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void start_listsThenWatchesFromTheListResourceVersion() throws Exception {
+        when(operation.list(any(ListOptions.class))).thenReturn(podList("100", pod("a", "1")));
+        when(operation.watch(any(ListOptions.class), any(Watcher.class))).thenReturn(watch);
+        stream = stream(false);
+
+        stream.start().get(5, TimeUnit.SECONDS);
+
+        verify(handler).onAdd(pod("a", "1"));
+        ArgumentCaptor<ListOptions> options = ArgumentCaptor.forClass(ListOptions.class);
+        verify(operation, timeout(5000)).watch(options.capture(), eq(stream));
+        assertEquals("100", options.getValue().getResourceVersion());
+        assertTrue(options.getValue().getAllowWatchBookmarks());
+    }
+
+    @Test
+    void eventReceived_passesOldObjectsOnlyWhenKept() throws Exception {
+        when(operation.list(any(ListOptions.class))).thenReturn(podList("100", pod("a", "1")));
+        when(operation.watch(any(ListOptions.class), any(Watcher.class))).thenReturn(watch);
+        stream = stream(true);
+        stream.start().get(5, TimeUnit.SECONDS);
+
+        stream.eventReceived(Watcher.Action.MODIFIED, pod("a", "2"));
+        stream.eventReceived(Watcher.Action.BOOKMARK, pod(null, "3"));
+        stream.eventReceived(Watcher.Action.DELETED, pod("a", "4"));
+
+        verify(handler).onUpdate(pod("a", "1"), pod("a", "2"));
+        verify(handler).onDelete(pod("a", "4"), false);
+    }
+
+    @Test
+    void onClose_relistsWhenTheResourceVersionIsGone() throws Exception {
+        when(operation.list(any(ListOptions.class)))
+                .thenReturn(podList("100", pod("a", "1"), pod("b", "1")))
+                .thenReturn(podList("200", pod("b", "2"), pod("c", "1")));
+        when(operation.watch(any(ListOptions.class), any(Watcher.class))).thenReturn(watch);
+        stream = stream(false);
+        stream.start().get(5, TimeUnit.SECONDS);
+
+        stream.onClose(new WatcherException("gone", new KubernetesClientException("gone", 410, null)));
+
+        verify(handler, timeout(5000)).onAdd(pod("c", "1"));
+        ArgumentCaptor<Pod> deleted = ArgumentCaptor.forClass(Pod.class);
+        verify(handler, timeout(5000)).onDelete(deleted.capture(), eq(true));
+        assertEquals("a", deleted.getValue().getMetadata().getName());
+        assertEquals("ns", deleted.getValue().getMetadata().getNamespace());
+        verify(handler, never()).onUpdate(any(), any());
+        verify(operation, timeout(5000).times(2)).watch(any(ListOptions.class), eq(stream));
+        assertEquals(1, relists.sum());
+    }
+
+    private StreamingWatch<Pod> stream(boolean keepObjects) {
+        return new StreamingWatch<>(
+                "test", Pod.class, operation, handler, keepObjects, UnaryOperator.identity(), relists, scheduler);
+    }
+
+    private static PodList podList(String resourceVersion, Pod... pods) {
+        return new PodListBuilder()
+                .withNewMetadata()
+                .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .withItems(pods)
+                .build();
+    }
+
+    private static Pod pod(String name, String resourceVersion) {
+        return new PodBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withNamespace("ns")
+                .withResourceVersion(resourceVersion)
+                .endMetadata()
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private final TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8, Thread::new);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void schedule_runsTasksInDeadlineOrder() throws InterruptedException {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+
+        // 30ms is more than one round of the 8 buckets
+        for (int delay : List.of(30, 5, 15)) {
+            wheel.schedule(
+                    () -> {
+                        fired.add(delay);
+                        done.countDown();
+                    },
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        assertEquals(List.of(5, 15, 30), fired);
+    }
+
+    @Test
+    void cancel_preventsTask() throws InterruptedException {
+        CountDownLatch cancelledRan = new CountDownLatch(1);
+        CountDownLatch otherRan = new CountDownLatch(1);
+
+        TimingWheel.Timeout timeout = wheel.schedule(cancelledRan::countDown, 5, TimeUnit.MILLISECONDS);
+        wheel.schedule(otherRan::countDown, 20, TimeUnit.MILLISECONDS);
+        assertEquals(2, wheel.pending());
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, wheel.pending());
+
+        assertTrue(otherRan.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelledRan.getCount());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void schedule_failsAfterStop() {
+        wheel.schedule(() -> {}, 1, TimeUnit.HOURS);
+        wheel.stop();
+
+        assertEquals(0, wheel.pending());
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(() -> {}, 1, TimeUnit.MILLISECONDS));
+    }
+}
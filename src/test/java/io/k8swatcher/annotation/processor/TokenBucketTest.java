@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void reserve_spreadsCallsBeyondTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+    }
+
+    @Test
+    void reserve_refillsUpToTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.reserve();
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertTrue(bucket.reserve() > 0);
+    }
+
+    @Test
+    void reserve_isUnlimitedWithoutRate() {
+        TokenBucket bucket = new TokenBucket(0, 1, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+    }
+
+    @Test
+    void retryPolicy_doublesDelayUpToMaxDelay() {
+        RetryPolicy policy = new RetryPolicy(10, 5, 30, new TokenBucket(0, 1, clock::get));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), policy.delayNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.delayNanos(2));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(20), policy.delayNanos(3));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), policy.delayNanos(4));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), policy.delayNanos(100));
+    }
+
+    @Test
+    void retryPolicy_waitsForRateLimiter() {
+        RetryPolicy policy = new RetryPolicy(10, 5, 30, new TokenBucket(1, 1, clock::get));
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(5), policy.delayNanos(1));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), policy.delayNanos(1));
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.Reconcile;
+import io.k8swatcher.annotation.Watch;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WatchMethodInvokerTest {
+
+    @Test
+    void invokeAdd() throws NoSuchMethodException {
+        WatchMethodInvoker invoker = WatchMethodInvoker.of(TestBean.class.getMethod("onAdd", Namespace.class));
+        TestBean bean = new TestBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeAdd(bean, ns);
+
+        assertEquals(EventType.ADD, invoker.getEvent());
+        assertEquals(List.of(ns), bean.received);
+    }
+
+    @Test
+    void invokeUpdate() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(TestBean.class.getMethod("onUpdate", Namespace.class, Namespace.class));
+        TestBean bean = new TestBean();
+        Namespace oldNs = new Namespace();
+        Namespace newNs = new Namespace();
+
+        invoker.invokeUpdate(bean, oldNs, newNs);
+
+        assertEquals(List.of(oldNs, newNs), bean.received);
+    }
+
+    @Test
+    void invokeDelete_dropsFlagForSingleParamMethod() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(TestBean.class.getMethod("onDeleteSingle", Namespace.class));
+        TestBean bean = new TestBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeDelete(bean, ns, true);
+
+        assertEquals(List.of(ns), bean.received);
+    }
+
+    @Test
+    void invokeDelete_boxesFlagForBooleanObjectParam() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(TestBean.class.getMethod("onDeleteWithFlag", Namespace.class, Boolean.class));
+        TestBean bean = new TestBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeDelete(bean, ns, true);
+
+        assertEquals(List.of(ns, Boolean.TRUE), bean.received);
+    }
+
+    @Test
+    void invoke_rethrowsRuntimeExceptionUnwrapped() throws NoSuchMethodException {
+        WatchMethodInvoker invoker = WatchMethodInvoker.of(TestBean.class.getMethod("onAddFailing", Namespace.class));
+
+        IllegalStateException e =
+                assertThrows(IllegalStateException.class, () -> invoker.invokeAdd(new TestBean(), new Namespace()));
+        assertEquals("failed", e.getMessage());
+    }
+
+    @Test
+    void invokeUpdate_convertsPartialObjectMetadataParams() throws NoSuchMethodException {
+        WatchMethodInvoker invoker = WatchMethodInvoker.of(
+                TestBean.class.getMethod("onUpdateMetadata", PartialObjectMetadata.class, PartialObjectMetadata.class));
+        TestBean bean = new TestBean();
+        Namespace oldNs = new NamespaceBuilder().withNewMetadata().withName("old").endMetadata().build();
+        Namespace newNs = new NamespaceBuilder().withNewMetadata().withName("new").endMetadata().build();
+
+        invoker.invokeUpdate(bean, oldNs, newNs);
+
+        PartialObjectMetadata converted = (PartialObjectMetadata) bean.received.get(1);
+        assertEquals("Namespace", converted.getKind());
+        assertSame(newNs.getMetadata(), converted.getMetadata());
+        assertSame(oldNs.getMetadata(), ((PartialObjectMetadata) bean.received.get(0)).getMetadata());
+    }
+
+    @Test
+    void invokeAdd_publicMethod() throws NoSuchMethodException {
+        WatchMethodInvoker invoker = WatchMethodInvoker.of(PublicBean.class.getMethod("onAdd", Namespace.class));
+        PublicBean bean = new PublicBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeAdd(bean, ns);
+
+        assertEquals(List.of(ns), bean.received);
+    }
+
+    @Test
+    void invokeDelete_publicMethodUnboxesPrimitiveFlag() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(PublicBean.class.getMethod("onDelete", Namespace.class, boolean.class));
+        PublicBean bean = new PublicBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeDelete(bean, ns, true);
+
+        assertEquals(List.of(ns, Boolean.TRUE), bean.received);
+    }
+
+    @Test
+    void invokeReconcile_publicMethodReturnsRequeueDelay() throws NoSuchMethodException {
+        WatchMethodInvoker invoker = WatchMethodInvoker.ofReconcile(
+                PublicBean.class.getMethod("reconcile", String.class, Namespace.class));
+        PublicBean bean = new PublicBean();
+        Namespace ns = new Namespace();
+
+        assertEquals(Duration.ofSeconds(5), invoker.invokeReconcile(bean, "ns", ns));
+        assertEquals(List.of("ns", ns), bean.received);
+    }
+
+    @Test
+    void invoke_publicMethodRethrowsRuntimeExceptionUnwrapped() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(PublicBean.class.getMethod("onAddFailing", Namespace.class));
+
+        IllegalStateException e = assertThrows(
+                IllegalStateException.class, () -> invoker.invokeAdd(new PublicBean(), new Namespace()));
+        assertEquals("failed", e.getMessage());
+    }
+
+    @Test
+    void invokeAdd_privateMethod() throws NoSuchMethodException {
+        WatchMethodInvoker invoker =
+                WatchMethodInvoker.of(PublicBean.class.getDeclaredMethod("onAddPrivate", Namespace.class));
+        PublicBean bean = new PublicBean();
+        Namespace ns = new Namespace();
+
+        invoker.invokeAdd(bean, ns);
+
+        assertEquals(List.of(ns), bean.received);
+    }
+
+    static class TestBean {
+
+        private final List<Object> received = new ArrayList<>();
+
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        public void onAdd(Namespace obj) {
+            received.add(obj);
+        }
+
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        public void onAddFailing(Namespace obj) {
+            throw new IllegalStateException("failed");
+        }
+
+        @Watch(event = EventType.UPDATE, resource = Namespace.class)
+        public void onUpdate(Namespace oldObj, Namespace newObj) {
+            received.add(oldObj);
+            received.add(newObj);
+        }
+
+        @Watch(event = EventType.DELETE, resource = Namespace.class)
+        public void onDeleteSingle(Namespace obj) {
+            received.add(obj);
+        }
+
+        @Watch(event = EventType.DELETE, resource = Namespace.class)
+        public void onDeleteWithFlag(Namespace obj, Boolean deletedFinalStateUnknown) {
+            received.add(obj);
+            received.add(deletedFinalStateUnknown);
+        }
+
+        @Watch(event = EventType.UPDATE, resource = Namespace.class)
+        public void onUpdateMetadata(PartialObjectMetadata oldObj, PartialObjectMetadata newObj) {
+            received.add(oldObj);
+            received.add(newObj);
+        }
+    }
+
+    public static class PublicBean {
+
+        private final List<Object> received = new ArrayList<>();
+
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        public void onAdd(Namespace obj) {
+            received.add(obj);
+        }
+
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        public void onAddFailing(Namespace obj) {
+            throw new IllegalStateException("failed");
+        }
+
+        @Watch(event = EventType.ADD, resource = Namespace.class)
+        private void onAddPrivate(Namespace obj) {
+            received.add(obj);
+        }
+
+        @Watch(event = EventType.DELETE, resource = Namespace.class)
+        public void onDelete(Namespace obj, boolean deletedFinalStateUnknown) {
+            received.add(obj);
+            received.add(deletedFinalStateUnknown);
+        }
+
+        @Reconcile(resource = Namespace.class)
+        public Duration reconcile(String key, Namespace obj) {
+            received.add(key);
+            received.add(obj);
+            return Duration.ofSeconds(5);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (C) 2025 Viktor Pergjoka
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.k8swatcher.annotation.processor;
+
+import static io.k8swatcher.annotation.processor.DispatchTasks.pod;
+import static io.k8swatcher.annotation.processor.DispatchTasks.recordingUpdate;
+import static io.k8swatcher.annotation.processor.DispatchTasks.task;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.k8swatcher.annotation.DeadLetterHandler;
+import io.k8swatcher.annotation.EventType;
+import io.k8swatcher.annotation.OverflowPolicy;
+import io.k8swatcher.annotation.Reconcile;
+import io.k8swatcher.annotation.ResourceEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WorkQueueTest {
+
+    @Mock
+    private TimingWheel timers;
+
+    @Mock
+    private DeadLetterHandler deadLetterHandler;
+
+    private final List<Runnable> workers = new ArrayList<>();
+    private final List<Runnable> scheduledRetries = new ArrayList<>();
+    private final List<Long> retryDelays = new ArrayList<>();
+    private final LaneMetrics metrics = LaneMetrics.unregistered();
+    private final WorkQueueMetrics workQueueMetrics = WorkQueueMetrics.unregistered();
+    private final Map<String, WatchMethodInvoker> invokers = new HashMap<>();
+
+    @Test
+    void execute_retriesFailingTaskWithBackoffUntilItSucceeds() {
+        captureRetries();
+        WorkQueue queue = workQueue(5);
+        AtomicInteger attempts = new AtomicInteger();
+        queue.execute(task(pod("foo"), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("API server unavailable");
+            }
+        }));
+
+        runWorkers();
+        runRetries();
+        runWorkers();
+        runRetries();
+        runWorkers();
+
+        assertEquals(3, attempts.get());
+        assertEquals(List.of(TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(10)), retryDelays);
+        assertEquals(2, workQueueMetrics.retries().sum());
+        assertEquals(0, queue.size());
+        verifyNoInteractions(deadLetterHandler);
+    }
+
+    @Test
+    void execute_passesTaskToDeadLetterHandlerAfterMaxRetries() {
+        captureRetries();
+        WorkQueue queue = workQueue(1);
+        Pod pod = pod("foo");
+        IllegalStateException error = new IllegalStateException("boom");
+        List<Object> handled = new ArrayList<>();
+        queue.execute(task(pod, () -> {
+            throw error;
+        }));
+        queue.execute(DispatchTasks.recordingDelete(pod, handled));
+
+        runWorkers();
+        assertTrue(handled.isEmpty(), "the delete waits for the failing add");
+        runRetries();
+        runWorkers();
+        runWorkers();
+
+        verify(deadLetterHandler)
+                .onDeadLetter(
+                        DispatchTasks.ADD_INVOKER.getMethod(),
+                        new ResourceEvent<>(EventType.ADD, null, pod, false),
+                        error);
+        assertEquals(1, workQueueMetrics.deadLettered().sum());
+        assertEquals(List.of(pod), handled);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void execute_busyObjectTakesNoFurtherWorkerAndMergesUpdates() {
+        WorkQueue queue = workQueue(5);
+        Pod v0 = pod("foo");
+        Pod v1 = pod("foo");
+        Pod v2 = pod("foo");
+        Pod v3 = pod("foo");
+        List<Object> handled = new ArrayList<>();
+
+        queue.execute(recordingUpdate(v0, v1, handled));
+        queue.execute(recordingUpdate(v1, v2, handled));
+        queue.execute(recordingUpdate(v2, v3, handled));
+        assertEquals(1, workers.size());
+
+        runWorkers();
+
+        assertEquals(List.of(v0, v1, v1, v3), handled);
+        assertEquals(1, metrics.coalesced().sum());
+        assertEquals(0, metrics.queued().get());
+    }
+
+    @Test
+    void execute_mergesAlternatingReconcileMethodsPerMethod() throws NoSuchMethodException {
+        WorkQueue queue = workQueue(5);
+        TwoReconcilersBean bean = new TwoReconcilersBean();
+        Pod pod = pod("foo");
+        queue.execute(reconcileTask(bean, "first", pod));
+
+        for (int i = 0; i < 10; i++) {
+            queue.execute(reconcileTask(bean, "second", pod));
+            queue.execute(reconcileTask(bean, "first", pod));
+        }
+
+        assertEquals(3, queue.size(), "the running reconcile and one waiting reconcile per method");
+        assertEquals(18, metrics.coalesced().sum());
+        runWorkers();
+        assertEquals(List.of("first", "second", "first"), bean.calls);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void execute_handlesAtMostWorkersObjectsAtATime() {
+        WorkQueue queue = workQueue(5);
+        List<String> handled = new ArrayList<>();
+
+        for (String name : List.of("a", "b", "c")) {
+            queue.execute(task(pod(name), () -> handled.add(name)));
+        }
+        assertEquals(2, workers.size());
+
+        runWorkers();
+
+        assertEquals(List.of("a", "b", "c"), handled);
+    }
+
+    @Test
+    void execute_dropsNewTaskWhenFull() {
+        WorkQueue queue = workQueue(5, 2, OverflowPolicy.DROP_NEWEST);
+        List<String> handled = new ArrayList<>();
+
+        for (String name : List.of("a", "b", "c")) {
+            queue.execute(task(pod(name), () -> handled.add(name)));
+        }
+        runWorkers();
+
+        assertEquals(List.of("a", "b"), handled);
+        assertEquals(1, metrics.dropped().sum());
+    }
+
+    @Test
+    void offer_rejectsTaskInsteadOfWaitingWhenFull() {
+        WorkQueue queue = workQueue(5, 2, OverflowPolicy.BLOCK);
+        List<String> handled = new ArrayList<>();
+
+        assertTrue(queue.offer(task(pod("a"), () -> handled.add("a"))));
+        assertTrue(queue.offer(task(pod("b"), () -> handled.add("b"))));
+        assertFalse(queue.offer(task(pod("c"), () -> handled.add("c"))));
+        runWorkers();
+        assertTrue(queue.offer(task(pod("c"), () -> handled.add("c"))));
+        runWorkers();
+
+        assertEquals(List.of("a", "b", "c"), handled);
+        assertEquals(0, metrics.dropped().sum());
+    }
+
+    @Test
+    void execute_dropsTaskWaitingLongestForAWorkerWhenFull() {
+        WorkQueue queue = workQueue(5, 3, OverflowPolicy.DROP_OLDEST);
+        List<String> handled = new ArrayList<>();
+
+        for (String name : List.of("a", "b", "c", "d")) {
+            queue.execute(task(pod(name), () -> handled.add(name)));
+        }
+        assertEquals(3, queue.size());
+        runWorkers();
+
+        assertEquals(List.of("a", "b", "d"), handled);
+        assertEquals(1, metrics.dropped().sum());
+        assertEquals(0, metrics.queued().get());
+    }
+
+    @Test
+    void execute_runsTasksWithoutObjectOfAMethodInOrder() {
+        WorkQueue queue = workQueue(5);
+        List<String> handled = new ArrayList<>();
+
+        queue.execute(task(List.of("first batch"), () -> handled.add("first")));
+        queue.execute(task(List.of("second batch"), () -> handled.add("second")));
+        assertEquals(1, workers.size());
+        runWorkers();
+
+        assertEquals(List.of("first", "second"), handled);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void execute_requeuesKeyAfterReturnedDelay() throws NoSuchMethodException {
+        captureRetries();
+        WorkQueue queue = workQueue(5);
+        RequeueBean bean = new RequeueBean();
+        Pod pod = pod("foo");
+
+        queue.execute(reconcileTask(bean, pod));
+        runWorkers();
+        assertEquals(List.of(TimeUnit.SECONDS.toNanos(30)), retryDelays);
+
+        runRetries();
+        runWorkers();
+
+        assertEquals(2, bean.calls);
+        assertEquals(1, workQueueMetrics.requeued().sum());
+    }
+
+    @Test
+    void execute_keepsEarliestRequeueOfKey() throws NoSuchMethodException {
+        TimingWheel.Timeout later = mock(TimingWheel.Timeout.class);
+        when(timers.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS)))
+                .thenReturn(later)
+                .thenAnswer(invocation -> {
+                    scheduledRetries.add(invocation.getArgument(0));
+                    return mock(TimingWheel.Timeout.class);
+                });
+        WorkQueue queue = workQueue(5);
+        RequeueBean bean = new RequeueBean();
+        Pod pod = pod("foo");
+
+        queue.execute(reconcileTask(bean, pod));
+        runWorkers();
+        bean.requeueAfter = Duration.ofSeconds(1);
+        queue.execute(reconcileTask(bean, pod));
+        runWorkers();
+        bean.requeueAfter = Duration.ofMinutes(5);
+        queue.execute(reconcileTask(bean, pod));
+        runWorkers();
+
+        verify(later).cancel();
+        verify(timers, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+        runRetries();
+        runWorkers();
+        assertEquals(4, bean.calls);
+    }
+
+    @Test
+    void execute_requeuesKeyOncePerMethod() throws NoSuchMethodException {
+        captureRetries();
+        WorkQueue queue = workQueue(5);
+        TwoReconcilersBean bean = new TwoReconcilersBean();
+        bean.requeueAfter = Duration.ofSeconds(30);
+        Pod pod = pod("foo");
+
+        queue.execute(reconcileTask(bean, "first", pod));
+        queue.execute(reconcileTask(bean, "second", pod));
+        runWorkers();
+        assertEquals(List.of(TimeUnit.SECONDS.toNanos(30), TimeUnit.SECONDS.toNanos(30)), retryDelays);
+
+        bean.requeueAfter = null;
+        runRetries();
+        runWorkers();
+
+        assertEquals(List.of("first", "second", "first", "second"), bean.calls);
+        assertEquals(2, workQueueMetrics.requeued().sum());
+    }
+
+    private DispatchTask reconcileTask(RequeueBean bean, Pod pod) throws NoSuchMethodException {
+        return reconcileTask(RequeueBean.class, "reconcile", bean, pod);
+    }
+
+    private DispatchTask reconcileTask(TwoReconcilersBean bean, String method, Pod pod)
+            throws NoSuchMethodException {
+        return reconcileTask(TwoReconcilersBean.class, method, bean, pod);
+    }
+
+    private DispatchTask reconcileTask(Class<?> beanClass, String method, Object bean, Pod pod)
+            throws NoSuchMethodException {
+        // the handler creates the invoker of a method once, the queue tells the methods apart by their invoker
+        WatchMethodInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = WatchMethodInvoker.ofReconcile(beanClass.getMethod(method, String.class));
+            invokers.put(method, invoker);
+        }
+        return DispatchTask.reconcile(invoker, () -> bean, pod, key -> pod);
+    }
+
+    private WorkQueue workQueue(int maxRetries) {
+        return workQueue(maxRetries, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+    }
+
+    private WorkQueue workQueue(int maxRetries, int capacity, OverflowPolicy overflowPolicy) {
+        return new WorkQueue(
+                workers::add,
+                2,
+                capacity,
+                overflowPolicy,
+                timers,
+                new RetryPolicy(maxRetries, 5, 1000, new TokenBucket(0, 1)),
+                deadLetterHandler,
+                metrics,
+                workQueueMetrics);
+    }
+
+    private void captureRetries() {
+        when(timers.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS)))
+                .thenAnswer(invocation -> {
+                    scheduledRetries.add(invocation.getArgument(0));
+                    retryDelays.add(invocation.getArgument(1));
+                    return null;
+                });
+    }
+
+    private void runWorkers() {
+        while (!workers.isEmpty()) {
+            workers.remove(0).run();
+        }
+    }
+
+    private void runRetries() {
+        while (!scheduledRetries.isEmpty()) {
+            scheduledRetries.remove(0).run();
+        }
+    }
+
+    public static class RequeueBean {
+
+        private int calls;
+        private Duration requeueAfter = Duration.ofSeconds(30);
+
+        @Reconcile(resource = Pod.class)
+        public Duration reconcile(String key) {
+            calls++;
+            return requeueAfter;
+        }
+    }
+
+    public static class TwoReconcilersBean {
+
+        private final List<String> calls = new ArrayList<>();
+
+        private Duration requeueAfter;
+
+        @Reconcile(resource = Pod.class)
+        public Duration first(String key) {
+            calls.add("first");
+            return requeueAfter;
+        }
+
+        @Reconcile(resource = Pod.class)
+        public Duration second(String key) {
+            calls.add("second");
+            return requeueAfter;
+        }
+    }
+}
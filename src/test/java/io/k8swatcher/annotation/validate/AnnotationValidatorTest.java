@@ -19,16 +19,23 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.PartialObjectMetadata;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.k8swatcher.annotation.Change;
 import io.k8swatcher.annotation.EventType;
 import io.k8swatcher.annotation.Informer;
+import io.k8swatcher.annotation.Reconcile;
+import io.k8swatcher.annotation.ResourceEvent;
 import io.k8swatcher.annotation.ValidateAnnotationTestConfig;
 import io.k8swatcher.annotation.Watch;
 import io.k8swatcher.annotation.cfg.InformerConfiguration;
 import io.k8swatcher.annotation.cfg.InformerConfigurationProperty;
 import io.k8swatcher.annotation.processor.KubeClientFactory;
 import java.lang.reflect.MalformedParametersException;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -242,6 +249,53 @@ public class AnnotationValidatorTest {
         assertThrows(MalformedParametersException.class, () -> validator.validateWatchAnnotations());
     }
 
+    @Informer(
+            nsLabels = {"tier!=dev", "tier notin (test,qa)", "tier"},
+            resLabels = {"app in (web,api)", "app!=admin"})
+    static class CombinedSelectorsBean {}
+
+    @Informer(resLabels = {"tier!=dev", "tier=web"})
+    static class EqualityWithExclusionBean {}
+
+    @Informer(resLabels = {"tier in (web,api)", "tier in (api)"})
+    static class TwoInclusionsBean {}
+
+    @Informer(resLabels = {"!canary", "canary notin (true)"})
+    static class DoesNotExistWithExclusionBean {}
+
+    @Test
+    public void testLabelKeys_combinationsOfSelectors() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("combinedSelectorsBean", new CombinedSelectorsBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateInformerAnnotations());
+
+        for (Object bean : List.of(
+                new EqualityWithExclusionBean(), new TwoInclusionsBean(), new DoesNotExistWithExclusionBean())) {
+            Mockito.when(ctx.getBeansWithAnnotation(Informer.class)).thenReturn(Map.of("bean", bean));
+            validator.init();
+            assertThrows(IllegalArgumentException.class, () -> validator.validateInformerAnnotations());
+        }
+    }
+
+    @Informer(name = "yamlLabels")
+    static class YamlLabelsBean {}
+
+    @Test
+    public void testLabelKeys_yamlLabelMapConflictsWithSelector() {
+        InformerConfiguration configuration = new InformerConfiguration();
+        configuration.setResLabels(Map.of("app", "web"));
+        configuration.setResLabelSelectors(List.of("app!=admin"));
+        informerConfigurationProperty.getConfig().put("yamlLabels", configuration);
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("yamlLabelsBean", new YamlLabelsBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateInformerAnnotations());
+
+        configuration.setResLabels(Map.of("team", "payments"));
+        assertDoesNotThrow(() -> validator.validateInformerAnnotations());
+    }
+
     @Informer
     static class EmptyLabelsBean {
         @Watch(event = EventType.ADD, resource = Namespace.class)
@@ -256,4 +310,294 @@ public class AnnotationValidatorTest {
 
         assertDoesNotThrow(() -> validator.validateInformerAnnotations());
     }
+
+    @Informer
+    static class ValidBatchBean {
+        @Watch(event = EventType.ADD, resource = Namespace.class, batchSize = 100)
+        public void onAdd(List<Namespace> namespaces) {}
+
+        @Watch(event = EventType.UPDATE, resource = Namespace.class, batchSize = 100)
+        public void onUpdate(List<ResourceEvent<Namespace>> events) {}
+
+        @Watch(event = EventType.DELETE, resource = Namespace.class, batchSize = 100)
+        public void onDelete(List<? extends ResourceEvent<? extends Namespace>> events) {}
+    }
+
+    @Test
+    public void testValidBatchParams() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("validBatchBean", new ValidBatchBean()));
+        validator.init();
+
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+    }
+
+    @Informer
+    static class InvalidUpdateBatchBean {
+        @Watch(event = EventType.UPDATE, resource = Namespace.class, batchSize = 100)
+        public void onUpdate(List<Namespace> namespaces) {}
+    }
+
+    @Test
+    public void testInvalidBatchParams_updateWithoutResourceEvents() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidUpdateBatchBean", new InvalidUpdateBatchBean()));
+        validator.init();
+
+        assertThrows(MalformedParametersException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer
+    static class InvalidBatchElementBean {
+        @Watch(event = EventType.ADD, resource = Namespace.class, batchSize = 100)
+        public void onAdd(List<Pod> pods) {}
+    }
+
+    @Test
+    public void testInvalidBatchParams_wrongElementType() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidBatchElementBean", new InvalidBatchElementBean()));
+        validator.init();
+
+        assertThrows(MalformedParametersException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer
+    static class InvalidChangesBean {
+        @Watch(event = EventType.ADD, resource = Namespace.class, changes = Change.LABELS)
+        public void onAdd(Namespace ns) {}
+
+        @Watch(event = EventType.UPDATE, resource = Namespace.class, changedPaths = "status..phase")
+        public void onUpdate(Namespace oldNs, Namespace newNs) {}
+    }
+
+    @Test
+    public void testInvalidChanges() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidChangesBean", new InvalidChangesBean()));
+        validator.init();
+
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer(fieldSelectors = {"spec.nodeName=node-1", "status.phase!=Succeeded"})
+    static class ValidFieldSelectorsBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {}
+    }
+
+    @Informer(fieldSelectors = "spec.nodeName")
+    static class InvalidFieldSelectorsBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {}
+    }
+
+    @Test
+    public void testFieldSelectors() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("validFieldSelectorsBean", new ValidFieldSelectorsBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateInformerAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidFieldSelectorsBean", new InvalidFieldSelectorsBean()));
+        validator.init();
+        assertThrows(MalformedParametersException.class, () -> validator.validateInformerAnnotations());
+    }
+
+    @Informer
+    static class ValidFilterBean {
+        @Watch(event = EventType.ADD, resource = Pod.class, filter = "metadata.labels?.get('tier') == 'web'")
+        public void onAdd(Pod pod) {}
+    }
+
+    @Informer
+    static class InvalidFilterBean {
+        @Watch(event = EventType.ADD, resource = Pod.class, filter = "metadata.labels[")
+        public void onAdd(Pod pod) {}
+    }
+
+    @Test
+    public void testFilter() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("validFilterBean", new ValidFilterBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidFilterBean", new InvalidFilterBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer
+    static class ValidReconcileBean {
+        @Reconcile(resource = Pod.class, maxConcurrent = 4)
+        public void reconcile(String key, Pod pod) {}
+
+        @Reconcile(resource = Pod.class)
+        public void reconcileKey(String key) {}
+    }
+
+    @Informer
+    static class InvalidReconcileBean {
+        @Reconcile(resource = Pod.class)
+        public void reconcile(Pod pod) {}
+    }
+
+    @Test
+    public void testReconcileParams() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("validReconcileBean", new ValidReconcileBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidReconcileBean", new InvalidReconcileBean()));
+        validator.init();
+        assertThrows(MalformedParametersException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer(metadataOnly = true)
+    static class MetadataOnlyBean {
+        @Watch(event = EventType.ADD, resource = Secret.class)
+        public void onAdd(PartialObjectMetadata secret) {}
+
+        @Watch(event = EventType.UPDATE, resource = Secret.class, changedPaths = "metadata.labels")
+        public void onUpdate(Secret oldSecret, Secret newSecret) {}
+    }
+
+    @Informer
+    static class PartialObjectMetadataWithoutMetadataOnlyBean {
+        @Watch(event = EventType.ADD, resource = Secret.class)
+        public void onAdd(PartialObjectMetadata secret) {}
+    }
+
+    @Informer(metadataOnly = true)
+    static class MetadataOnlyChangedDataBean {
+        @Watch(event = EventType.UPDATE, resource = Secret.class, changedPaths = "data")
+        public void onUpdate(Secret oldSecret, Secret newSecret) {}
+    }
+
+    @Test
+    public void testMetadataOnly() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("metadataOnlyBean", new MetadataOnlyBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("partialBean", new PartialObjectMetadataWithoutMetadataOnlyBean()));
+        validator.init();
+        assertThrows(MalformedParametersException.class, () -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("changedDataBean", new MetadataOnlyChangedDataBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer(stripManagedFields = true, stripAnnotations = "kubectl\\.kubernetes\\.io/.*", transforms = "pruneStatus")
+    static class CacheTransformBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {}
+    }
+
+    @Informer(stripAnnotations = "kubectl[")
+    static class InvalidStripAnnotationsBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {}
+    }
+
+    @Test
+    public void testCacheTransforms() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("cacheTransformBean", new CacheTransformBean()));
+        Mockito.when(ctx.containsBean("pruneStatus")).thenReturn(true);
+        Mockito.when(ctx.isTypeMatch("pruneStatus", Consumer.class)).thenReturn(true);
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateInformerAnnotations());
+
+        Mockito.when(ctx.isTypeMatch("pruneStatus", Consumer.class)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> validator.validateInformerAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("invalidStripAnnotationsBean", new InvalidStripAnnotationsBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateInformerAnnotations());
+    }
+
+    @Informer(fields = {"status.phase", "spec.nodeName"})
+    static class FieldsBean {
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changedPaths = "status.phase")
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+    }
+
+    @Informer(fields = {"status.phase", "spec.nodeName"})
+    static class UncachedChangedPathBean {
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changedPaths = "spec.containers")
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+    }
+
+    @Informer(fields = {"status.phase", "metadata.labels"})
+    static class FieldsChangesBean {
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changes = {Change.GENERATION, Change.LABELS})
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+    }
+
+    @Informer(fields = "status.phase")
+    static class UncachedChangeBean {
+        @Watch(event = EventType.UPDATE, resource = Pod.class, changes = Change.ANNOTATIONS)
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+    }
+
+    @Test
+    public void testFields() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class)).thenReturn(Map.of("fieldsBean", new FieldsBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("uncachedChangedPathBean", new UncachedChangedPathBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("fieldsChangesBean", new FieldsChangesBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("uncachedChangeBean", new UncachedChangeBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+    }
+
+    @Informer(streaming = true)
+    static class StreamingBean {
+        @Watch(event = EventType.ADD, resource = Pod.class)
+        public void onAdd(Pod pod) {}
+
+        @Watch(event = EventType.UPDATE, resource = Pod.class)
+        public void onUpdate(Pod oldPod, Pod newPod) {}
+    }
+
+    @Informer(streaming = true)
+    static class StreamingReconcileBean {
+        @Reconcile(resource = Pod.class)
+        public void reconcile(String key) {}
+    }
+
+    @Test
+    public void testStreaming() {
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("streamingBean", new StreamingBean()));
+        validator.init();
+        assertDoesNotThrow(() -> validator.validateWatchAnnotations());
+
+        Mockito.when(ctx.getBeansWithAnnotation(Informer.class))
+                .thenReturn(Map.of("streamingReconcileBean", new StreamingReconcileBean()));
+        validator.init();
+        assertThrows(IllegalArgumentException.class, () -> validator.validateWatchAnnotations());
+    }
 }